@@ -0,0 +1,44 @@
+// Writes .gz and .br siblings next to compressible build output so the server can
+// stream them as-is instead of compressing on every request.
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const COMPRESSIBLE = /\.(js|css|html|json|svg|txt|map|ico)$/;
+const MIN_SIZE = 1024;
+
+function walk(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const full = path.join(dir, entry.name);
+    return entry.isDirectory() ? walk(full) : [full];
+  });
+}
+
+let written = 0;
+for (const file of walk(BUILD_DIR)) {
+  if (!COMPRESSIBLE.test(file)) {
+    continue;
+  }
+  const source = fs.readFileSync(file);
+  if (source.length < MIN_SIZE) {
+    continue;
+  }
+  const variants = {
+    '.gz': zlib.gzipSync(source, { level: zlib.constants.Z_BEST_COMPRESSION }),
+    '.br': zlib.brotliCompressSync(source, {
+      params: {
+        [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+        [zlib.constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+      },
+    }),
+  };
+  for (const [extension, body] of Object.entries(variants)) {
+    // Only keep variants that actually save bytes
+    if (body.length < source.length) {
+      fs.writeFileSync(file + extension, body);
+      written++;
+    }
+  }
+}
+console.log(`Wrote ${written} precompressed assets under ${BUILD_DIR}`);
@@ -13,6 +13,9 @@ export interface Article {
   authorName?: string;
   categoryName?: string;
   featuredImage?: string;
+  imagePending?: boolean;
+  imageUrl?: string | null;
+  imageSrcset?: string | null;
   viewCount?: number;
   isFeatured?: boolean;
   isPublished?: boolean;
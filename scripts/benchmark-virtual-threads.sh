@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Virtual-thread vs platform-thread benchmark
+# Boots the packaged jar twice (platform threads, then the virtual-threads profile) and runs
+# the same mixed read/upload workload against each with the LoadTest driver from
+# src/loadtest (url= mode). Needs a Java 21 runtime on PATH and a jar built with
+# `mvn -Pvirtual-threads package`.
+#
+# Usage: ./scripts/benchmark-virtual-threads.sh [jar] [clients] [seconds] [upload-percent]
+# Set BENCH_USER/BENCH_PASSWORD to an admin account to include uploads,
+# BASE_PROFILES to the profiles both runs share (default: production) and ARTICLES to the
+# number of article ids the driver may request (default: the 6 rows in data.sql).
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+PROJECT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+JAR="${1:-$(ls "$PROJECT_DIR"/target/*.jar | head -n 1)}"
+CLIENTS="${2:-64}"
+SECONDS_PER_RUN="${3:-60}"
+UPLOAD_PERCENT="${4:-10}"
+BASE_PROFILES="${BASE_PROFILES:-production}"
+PORT="${PORT:-18080}"
+ARTICLES="${ARTICLES:-6}"
+
+JAVA_MAJOR=$(java -version 2>&1 | head -n 1 | sed -E 's/.*version "([0-9]+).*/\1/')
+if [ "$JAVA_MAJOR" -lt 21 ]; then
+    echo "[WARNING] Java $JAVA_MAJOR detected; the virtual-threads run will silently use platform threads"
+fi
+
+# Read routes split the non-upload share; uploads need an admin session
+READ_PERCENT=$((100 - UPLOAD_PERCENT))
+MIX="home:$((READ_PERCENT * 20)),article_list_page:$((READ_PERCENT * 10)),article_page:$((READ_PERCENT * 15))"
+MIX="$MIX,api_articles:$((READ_PERCENT * 15)),api_article:$((READ_PERCENT * 25)),api_search:$((READ_PERCENT * 15))"
+CREDENTIALS=""
+if [ -n "$BENCH_USER" ] && [ -n "$BENCH_PASSWORD" ]; then
+    MIX="$MIX,article_create:$((UPLOAD_PERCENT * 100))"
+    CREDENTIALS="username=$BENCH_USER password=$BENCH_PASSWORD"
+else
+    echo "[INFO] BENCH_USER/BENCH_PASSWORD not set; measuring reads only"
+fi
+
+drive() {
+    # Runs the loadtest profile's exec goal directly, so the jar under test is not repackaged
+    (cd "$PROJECT_DIR" && mvn -q -B -Ploadtest test-compile exec:exec@run-load-test \
+        -Dloadtest.args="url=http://localhost:$PORT clients=$CLIENTS articles=$ARTICLES mix=$MIX $CREDENTIALS $*")
+}
+
+run_mode() {
+    local label=$1
+    local profiles=$2
+    echo "[INFO] Starting $label run (profiles: $profiles)"
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --spring.profiles.active="$profiles" --server.port="$PORT" > "/tmp/benchmark-$label.log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PORT/api/articles?size=1" > /dev/null; then
+            break
+        fi
+        sleep 2
+    done
+    # The driver warms JIT and caches for 15s before measuring
+    drive warmup=15 duration="$SECONDS_PER_RUN" | sed "s/^/[$label] /"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    local pinned
+    pinned=$(grep -c "reason:MONITOR\|<== monitors" "/tmp/benchmark-$label.log" || true)
+    echo "[$label] pinned-thread reports: $pinned (details in /tmp/benchmark-$label.log)"
+}
+
+run_mode platform "$BASE_PROFILES"
+run_mode virtual "$BASE_PROFILES,virtual-threads"
@@ -0,0 +1,114 @@
+package com.handong.internationalmedia.benchmark;
+
+import com.handong.internationalmedia.InternationalMediaApplication;
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import com.handong.internationalmedia.service.ArticleSearchIndex;
+import com.handong.internationalmedia.service.ArticleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Article read and write paths against the real application context on the {@code h2}
+ * profile, with {@link #articleCount} extra articles seeded on top of {@code data.sql}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleServiceBenchmark {
+
+    private static final String INSERT_SQL = "INSERT INTO articles (title, content, summary, author_id, " +
+            "featured_image, read_time, view_count, is_featured, is_published, image_pending, category_id, " +
+            "published_at, created_at, updated_at) VALUES (?, ?, ?, 1, NULL, 3, 0, false, true, false, ?, ?, ?, ?)";
+    private static final String[] KEYWORDS = {"korea", "election", "festival", "pohang"};
+
+    @Param({"2000"})
+    int articleCount;
+
+    private ConfigurableApplicationContext context;
+    private ArticleRepository articleRepository;
+    private ArticleService articleService;
+    private long maxArticleId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(InternationalMediaApplication.class)
+                .profiles("h2")
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        articleRepository = context.getBean(ArticleRepository.class);
+        articleService = context.getBean(ArticleService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(ArticleSearchIndex.class).rebuild();
+        maxArticleId = articleRepository.count();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /** The SQL {@code LIKE} scan over title, content and summary. */
+    @Benchmark
+    public Page<Article> searchByKeyword() {
+        return articleRepository.searchByKeyword(keyword(), PageRequest.of(0, 10));
+    }
+
+    /** What {@code /api/articles/search} serves today, for comparison with the scan. */
+    @Benchmark
+    public Page<ArticleSummaryDto> searchArticles() {
+        return articleService.searchArticles(keyword(), PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void incrementViewCountContended() {
+        articleService.incrementViewCount(1L + ThreadLocalRandom.current().nextLong(Math.min(maxArticleId, 20)));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void incrementViewCountSpread() {
+        articleService.incrementViewCount(1L + ThreadLocalRandom.current().nextLong(maxArticleId));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(articleCount);
+        for (int i = 0; i < articleCount; i++) {
+            Timestamp at = Timestamp.valueOf(now.minusMinutes(i));
+            rows.add(new Object[]{
+                    SampleArticles.sentence(random, 8),
+                    SampleArticles.body(random, 6, 60),
+                    SampleArticles.sentence(random, 20),
+                    1 + random.nextInt(9),
+                    at, at, at
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static String keyword() {
+        return KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)];
+    }
+}
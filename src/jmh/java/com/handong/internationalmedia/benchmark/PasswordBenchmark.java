@@ -0,0 +1,33 @@
+package com.handong.internationalmedia.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification as done on every login, at the default strength used by
+ * {@code SecurityConfig} and against the seeded hash from {@code data.sql}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final String SEEDED_HASH = "$2a$10$NTshjq8nK6IEmIrABZZhJeucIQCin3exP9ccnju51ATbCyWv/tnxu";
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return encoder.matches("admin123", SEEDED_HASH);
+    }
+
+    @Benchmark
+    public boolean bcryptRejects() {
+        return encoder.matches("wrong-password", SEEDED_HASH);
+    }
+}
@@ -0,0 +1,75 @@
+package com.handong.internationalmedia.benchmark;
+
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.entity.Category;
+import com.handong.internationalmedia.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic article fixtures sized like the seeded data: a few paragraphs of HTML body,
+ * a summary, an author and a category.
+ */
+public final class SampleArticles {
+
+    private static final String[] WORDS = {
+            "korea", "election", "market", "students", "culture", "policy", "economy", "festival",
+            "university", "media", "startup", "climate", "health", "sports", "seoul", "pohang"
+    };
+
+    private SampleArticles() {
+    }
+
+    public static List<Article> create(int count, long seed) {
+        Random random = new Random(seed);
+        User author = User.builder().id(1L).username("editor").fullName("Editor Kim").build();
+        List<Category> categories = List.of(
+                Category.builder().id(1L).name("National").build(),
+                Category.builder().id(2L).name("Politics").build(),
+                Category.builder().id(4L).name("Finance").build());
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(Article.builder()
+                    .id((long) i + 1)
+                    .title(sentence(random, 8))
+                    .content(body(random, 6, 60))
+                    .summary(sentence(random, 20))
+                    .author(author)
+                    .category(categories.get(i % categories.size()))
+                    .featuredImage("https://res.cloudinary.com/demo/image/upload/him-articles/" + i + ".jpg")
+                    .imagePending(false)
+                    .viewCount((long) random.nextInt(10_000))
+                    .isFeatured(i % 10 == 0)
+                    .isPublished(true)
+                    .publishedAt(now.minusHours(i))
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now.minusHours(i))
+                    .build());
+        }
+        return articles;
+    }
+
+    public static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static String body(Random random, int paragraphs, int wordsPerParagraph) {
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            html.append("<p>").append(sentence(random, wordsPerParagraph)).append("</p>");
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.handong.internationalmedia.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.handong.internationalmedia.benchmark.SampleArticles;
+import com.handong.internationalmedia.dto.ArticleDto;
+import com.handong.internationalmedia.entity.Article;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping in {@link ArticleRestController} and Jackson serialization of the
+ * resulting page, i.e. the CPU side of {@code GET /api/articles}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleDtoBenchmark {
+
+    @Param({"10", "50"})
+    int pageSize;
+
+    private List<Article> articles;
+    private Page<ArticleDto> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        articles = SampleArticles.create(pageSize, 42);
+        page = new PageImpl<>(articles.stream().map(ArticleRestController::convertToDto).toList(),
+                PageRequest.of(0, pageSize), 1_000);
+        // Same modules and defaults as the ObjectMapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) {
+        for (Article article : articles) {
+            blackhole.consume(ArticleRestController.convertToDto(article));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerializePage() throws Exception {
+        Page<ArticleDto> converted = new PageImpl<>(articles.stream().map(ArticleRestController::convertToDto).toList(),
+                PageRequest.of(0, pageSize), 1_000);
+        return objectMapper.writeValueAsBytes(converted);
+    }
+}
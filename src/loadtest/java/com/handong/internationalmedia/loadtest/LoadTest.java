@@ -0,0 +1,355 @@
+package com.handong.internationalmedia.loadtest;
+
+import com.handong.internationalmedia.InternationalMediaApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator. Boots the application on the {@code h2} profile with a
+ * seeded dataset and the local image store, replays a weighted mix of {@link Route}s from
+ * concurrent clients and prints throughput and p50/p95/p99 per route.
+ *
+ * <p>Run with {@code mvn -Ploadtest verify -Dloadtest.args="clients=64 duration=60"}.
+ * Arguments are {@code key=value}: {@code clients}, {@code duration} and {@code warmup}
+ * (seconds), {@code articles} (seeded rows), {@code mix} (route weights, see
+ * {@link Route#DEFAULT_MIX}) and {@code url} to drive an already running instance
+ * instead of booting one. The admin login ({@code username}, {@code password}) only
+ * happens when the mix contains an admin route.
+ */
+public final class LoadTest {
+
+    private static final String[] CATEGORIES = {"National", "Politics", "Business", "Finance", "Lifestyle",
+            "Sports", "World"};
+    private static final String[] WORDS = {"korea", "election", "market", "students", "culture", "policy",
+            "economy", "festival", "university", "media", "startup", "climate", "health", "sports"};
+    private static final String INSERT_SQL = "INSERT INTO articles (title, content, summary, author_id, "
+            + "featured_image, read_time, view_count, is_featured, is_published, image_pending, category_id, "
+            + "published_at, created_at, updated_at) VALUES (?, ?, ?, 1, NULL, 3, ?, ?, true, false, ?, ?, ?, ?)";
+
+    private final Map<String, String> options;
+    private final Map<Route, Histogram> latencies = new EnumMap<>(Route.class);
+    private final Map<Route, LongAdder> errors = new EnumMap<>(Route.class);
+    private final Map<Route, LongAdder> redirects = new EnumMap<>(Route.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long articleCount;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        for (Route route : Route.values()) {
+            latencies.put(route, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+            errors.put(route, new LongAdder());
+            redirects.put(route, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            }
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        int clients = intOption("clients", 32);
+        int warmup = intOption("warmup", 10);
+        int duration = intOption("duration", 60);
+        int articles = intOption("articles", 2000);
+        String username = options.getOrDefault("username", "tempAdmin");
+        String password = options.getOrDefault("password", "admin123");
+        WeightedMix mix = new WeightedMix(options.getOrDefault("mix", Route.DEFAULT_MIX));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("url");
+        if (baseUrl == null) {
+            context = boot(articles);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            articleCount = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM articles", Long.class);
+        } else {
+            articleCount = articles;
+        }
+
+        try {
+            byte[] image = sampleImage();
+            HttpClient anonymous = client(null);
+            HttpClient admin = client(new CookieManager());
+            Target target = new Target(baseUrl, image, username, password);
+            if (mix.needsAdmin()) {
+                HttpResponse<Void> login = admin.send(target.loginRequest(), HttpResponse.BodyHandlers.discarding());
+                if (login.statusCode() != 200) {
+                    throw new IllegalStateException("Admin login failed with HTTP " + login.statusCode());
+                }
+            }
+
+            System.out.printf("Target %s, %d clients, %ds warmup, %ds measured, %d articles%n",
+                    baseUrl, clients, warmup, duration, articleCount);
+            drive(mix, target, anonymous, admin, clients, warmup, false);
+            drive(mix, target, anonymous, admin, clients, duration, true);
+            report(duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext boot(int articles) throws Exception {
+        Path imageDir = Files.createTempDirectory("him-loadtest-images");
+        return new SpringApplicationBuilder(InternationalMediaApplication.class)
+                .profiles("h2")
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.thymeleaf.cache=true",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "app.image-store.type=local",
+                        "app.image-store.local.dir=" + imageDir)
+                // Started fires after data.sql ran but before the Ready listeners warm the
+                // in-memory indexes, so they pick up the seeded rows
+                .listeners((ApplicationListener<ApplicationStartedEvent>) event ->
+                        seed(event.getApplicationContext().getBean(JdbcTemplate.class), articles))
+                .run();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(11);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp at = Timestamp.valueOf(now.minusMinutes(i * 7L));
+            StringBuilder body = new StringBuilder();
+            for (int p = 0; p < 6; p++) {
+                body.append("<p>").append(sentence(random, 60)).append("</p>");
+            }
+            rows.add(new Object[]{sentence(random, 8), body.toString(), sentence(random, 20),
+                    random.nextInt(5_000), i % 25 == 0, 1 + random.nextInt(CATEGORIES.length), at, at, at});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private void drive(WeightedMix mix, Target target, HttpClient anonymous, HttpClient admin,
+                       int clients, int seconds, boolean record) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Route route = mix.next();
+                    HttpRequest request = route.request(target);
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = (route.admin() ? admin : anonymous)
+                                .send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long micros = (System.nanoTime() - start) / 1_000;
+                    if (!record) {
+                        continue;
+                    }
+                    latencies.get(route).recordValue(Math.min(micros, latencies.get(route).getHighestTrackableValue()));
+                    if (status < 0 || status >= 400) {
+                        errors.get(route).increment();
+                    } else if (status >= 300) {
+                        redirects.get(route).increment();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private void report(int seconds) {
+        System.out.printf("%n%-36s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "route", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "3xx", "errors");
+        long total = 0;
+        for (Route route : Route.values()) {
+            Histogram histogram = latencies.get(route);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            System.out.printf("%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                    route.label(), count, (double) count / seconds,
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(95) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3, histogram.getMaxValue() / 1e3,
+                    redirects.get(route).sum(), errors.get(route).sum());
+        }
+        System.out.printf("%-36s %9d %9.1f%n", "total", total, (double) total / seconds);
+    }
+
+    private static HttpClient client(CookieManager cookies) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (cookies != null) {
+            builder.cookieHandler(cookies);
+        }
+        return builder.build();
+    }
+
+    /** An 800x600 JPEG so uploads exercise the same path a photo would. */
+    private static byte[] sampleImage() throws Exception {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(3);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 255 / image.getWidth()) << 16 | (y * 255 / image.getHeight()) << 8
+                        | random.nextInt(64));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private final class Target implements Route.Target {
+        private final String baseUrl;
+        private final byte[] image;
+        private final String loginBody;
+
+        private Target(String baseUrl, byte[] image, String username, String password) {
+            this.baseUrl = baseUrl;
+            this.image = image;
+            this.loginBody = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        }
+
+        @Override
+        public URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+
+        @Override
+        public long articleId() {
+            return 1 + ThreadLocalRandom.current().nextLong(Math.max(1, articleCount));
+        }
+
+        @Override
+        public String category() {
+            return CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        }
+
+        @Override
+        public String keyword() {
+            return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+        }
+
+        @Override
+        public long nextSequence() {
+            return sequence.incrementAndGet();
+        }
+
+        @Override
+        public byte[] image() {
+            return image;
+        }
+
+        @Override
+        public HttpRequest loginRequest() {
+            return HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                    .build();
+        }
+    }
+
+    private static final class WeightedMix {
+        private final Route[] routes;
+        private final int[] cumulative;
+
+        private WeightedMix(String spec) {
+            List<Route> parsedRoutes = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.split(":");
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    parsedRoutes.add(Route.parse(parts[0]));
+                    weights.add(weight);
+                }
+            }
+            if (parsedRoutes.isEmpty()) {
+                throw new IllegalArgumentException("Traffic mix has no routes: " + spec);
+            }
+            routes = parsedRoutes.toArray(new Route[0]);
+            cumulative = new int[weights.size()];
+            int sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += weights.get(i);
+                cumulative[i] = sum;
+            }
+        }
+
+        private boolean needsAdmin() {
+            for (Route route : routes) {
+                if (route.admin()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Route next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (pick < cumulative[i]) {
+                    return routes[i];
+                }
+            }
+            return routes[routes.length - 1];
+        }
+    }
+}
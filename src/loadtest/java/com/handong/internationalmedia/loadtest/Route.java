@@ -0,0 +1,186 @@
+package com.handong.internationalmedia.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request in the traffic mix. Each route builds a fresh request per call so
+ * ids, categories and keywords vary the way real traffic does.
+ */
+enum Route {
+
+    HOME("GET /", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/");
+        }
+    },
+    ARTICLE_LIST_PAGE("GET /articles", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/articles?page=" + random().nextInt(5));
+        }
+    },
+    ARTICLE_PAGE("GET /articles/{id}", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/articles/" + target.articleId());
+        }
+    },
+    CATEGORY_PAGE("GET /category/{name}", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/category/" + target.category());
+        }
+    },
+    SEARCH_PAGE("GET /search", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/search?q=" + target.keyword());
+        }
+    },
+    API_ARTICLES("GET /api/articles", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles?page=" + random().nextInt(5) + "&size=10");
+        }
+    },
+    API_FEED("GET /api/articles/feed", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/feed?size=10");
+        }
+    },
+    API_ARTICLE("GET /api/articles/{id}", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/" + target.articleId());
+        }
+    },
+    API_CATEGORY("GET /api/articles/category/{name}", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/category/" + target.category() + "?page=0&size=10");
+        }
+    },
+    API_POPULAR("GET /api/articles/popular", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/popular");
+        }
+    },
+    API_TRENDING("GET /api/articles/trending", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/trending");
+        }
+    },
+    API_SEARCH("GET /api/articles/search", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/articles/search?keyword=" + target.keyword());
+        }
+    },
+    LOGIN("POST /api/auth/login", false) {
+        @Override
+        HttpRequest request(Target target) {
+            return target.loginRequest();
+        }
+    },
+    STUDENTS("GET /api/students", true) {
+        @Override
+        HttpRequest request(Target target) {
+            return get(target, "/api/students?page=" + random().nextInt(3) + "&size=10");
+        }
+    },
+    STUDENT_CREATE("POST /api/students", true) {
+        @Override
+        HttpRequest request(Target target) {
+            long n = target.nextSequence();
+            String body = "{\"name\":\"Load Test " + n + "\",\"email\":\"loadtest-" + n + "-"
+                    + Long.toHexString(random().nextLong()) + "@example.com\"}";
+            return HttpRequest.newBuilder(target.uri("/api/students"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    ARTICLE_CREATE("POST /api/articles (image)", true) {
+        @Override
+        HttpRequest request(Target target) {
+            String article = "{\"title\":\"Load test article " + target.nextSequence() + "\","
+                    + "\"content\":\"<p>Load test body</p>\",\"summary\":\"Load test\","
+                    + "\"categoryName\":\"" + target.category() + "\",\"isPublished\":true}";
+            byte[] head = ("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"article\"\r\n"
+                    + "Content-Type: application/json\r\n\r\n" + article + "\r\n"
+                    + "--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"image\"; filename=\"loadtest.jpg\"\r\n"
+                    + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+            byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+            return HttpRequest.newBuilder(target.uri("/api/articles"))
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, target.image(), tail)))
+                    .build();
+        }
+    };
+
+    /** Default weights; override with {@code mix=home:30,api_article:20,...}. */
+    static final String DEFAULT_MIX = "home:15,article_list_page:4,article_page:15,category_page:6,search_page:4,"
+            + "api_articles:6,api_feed:4,api_article:15,api_category:6,api_popular:3,api_trending:3,api_search:6,"
+            + "login:3,students:4,student_create:1,article_create:1";
+
+    private static final String BOUNDARY = "load-test-boundary";
+
+    private final String label;
+    private final boolean admin;
+
+    Route(String label, boolean admin) {
+        this.label = label;
+        this.admin = admin;
+    }
+
+    String label() {
+        return label;
+    }
+
+    /** Whether the request has to go out on the logged-in admin session. */
+    boolean admin() {
+        return admin;
+    }
+
+    abstract HttpRequest request(Target target);
+
+    static Route parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static HttpRequest get(Target target, String path) {
+        return HttpRequest.newBuilder(target.uri(path)).GET().build();
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    /** What the routes need to know about the instance under test. */
+    interface Target {
+        URI uri(String path);
+
+        long articleId();
+
+        String category();
+
+        String keyword();
+
+        long nextSequence();
+
+        byte[] image();
+
+        HttpRequest loginRequest();
+    }
+}
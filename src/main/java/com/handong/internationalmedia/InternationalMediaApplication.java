@@ -2,8 +2,10 @@ package com.handong.internationalmedia;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InternationalMediaApplication {
     public static void main(String[] args) {
         SpringApplication.run(InternationalMediaApplication.class, args);
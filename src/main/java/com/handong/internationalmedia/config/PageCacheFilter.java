@@ -0,0 +1,178 @@
+package com.handong.internationalmedia.config;
+
+import com.handong.internationalmedia.service.ArticleService;
+import com.handong.internationalmedia.service.CategoryRegistry;
+import com.handong.internationalmedia.service.RenderedPageCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves cached HTML for anonymous GETs of the public Thymeleaf pages. Runs after the
+ * security filter chain so authenticated users (admins) always get a fresh render. Only
+ * the query parameters a route actually reads are part of the key; a request carrying any
+ * other parameter bypasses the cache, so tracking tags or junk cannot fill it.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+@RequiredArgsConstructor
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern ARTICLE_DETAIL = Pattern.compile("^/articles/(\\d+)$");
+    private static final Pattern CATEGORY_PAGE = Pattern.compile("^/category/([^/]+)$");
+    private static final List<String> LISTING_PARAMS = List.of("cursor", "page", "size");
+    private static final List<String> CATEGORY_PARAMS = List.of("cursor", "page", "size");
+
+    private final RenderedPageCache pageCache;
+    private final CategoryRegistry categoryRegistry;
+    private final ArticleService articleService;
+
+    @Value("${app.page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || !isAnonymous();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Optional<Route> route = resolve(path);
+        if (route.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = cacheKey(path, route.get().params, request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RenderedPageCache.Entry cached = pageCache.get(key);
+        if (cached != null) {
+            if (cached.getArticleId() != null) {
+                articleService.incrementViewCount(cached.getArticleId());
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.getContentType());
+            response.setContentLength(cached.getBody().length);
+            response.setHeader("X-Page-Cache", "HIT");
+            response.getOutputStream().write(cached.getBody());
+            return;
+        }
+
+        long generation = pageCache.getGeneration();
+        HttpSession sessionBefore = request.getSession(false);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader("X-Page-Cache", "MISS");
+        try {
+            chain.doFilter(request, wrapper);
+            if (isCacheable(request, wrapper, sessionBefore)) {
+                pageCache.put(key, generation, wrapper.getContentAsByteArray(), wrapper.getContentType(),
+                        route.get().articleId, route.get().tags);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private Optional<Route> resolve(String path) {
+        if ("/".equals(path)) {
+            return Optional.of(new Route(null, Set.of(RenderedPageCache.TAG_LISTINGS), List.of()));
+        }
+        if ("/articles".equals(path)) {
+            return Optional.of(new Route(null, Set.of(RenderedPageCache.TAG_LISTINGS), LISTING_PARAMS));
+        }
+        Matcher detail = ARTICLE_DETAIL.matcher(path);
+        if (detail.matches()) {
+            Long articleId = Long.valueOf(detail.group(1));
+            return Optional.of(new Route(articleId, Set.of(RenderedPageCache.articleTag(articleId)), List.of()));
+        }
+        Matcher category = CATEGORY_PAGE.matcher(path);
+        if (category.matches()) {
+            String name = UriUtils.decode(category.group(1), StandardCharsets.UTF_8);
+            return categoryRegistry.findIdByName(name)
+                    .map(id -> new Route(null, Set.of(RenderedPageCache.categoryTag(id)), CATEGORY_PARAMS));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The key for the route's allowed parameters in a fixed order, or null when the request
+     * has any other parameter or repeats one.
+     */
+    private static String cacheKey(String path, List<String> allowed, HttpServletRequest request) {
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (parameters.isEmpty()) {
+            return path;
+        }
+        StringBuilder key = new StringBuilder(path);
+        int used = 0;
+        for (String name : allowed) {
+            String[] values = parameters.get(name);
+            if (values == null) {
+                continue;
+            }
+            if (values.length != 1) {
+                return null;
+            }
+            key.append(used++ == 0 ? '?' : '&').append(name).append('=')
+                    .append(UriUtils.encodeQueryParam(values[0], StandardCharsets.UTF_8));
+        }
+        return used == parameters.size() ? key.toString() : null;
+    }
+
+    private static boolean isCacheable(HttpServletRequest request, ContentCachingResponseWrapper response,
+                                       HttpSession sessionBefore) {
+        String contentType = response.getContentType();
+        HttpSession sessionAfter = request.getSession(false);
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")
+                && !response.containsHeader(HttpHeaders.SET_COOKIE)
+                && (sessionAfter == null || sessionAfter == sessionBefore);
+    }
+
+    private static boolean isAnonymous() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated();
+    }
+
+    private static final class Route {
+        private final Long articleId;
+        private final Set<String> tags;
+        private final List<String> params;
+
+        private Route(Long articleId, Set<String> tags, List<String> params) {
+            this.articleId = articleId;
+            this.tags = tags;
+            this.params = params;
+        }
+    }
+}
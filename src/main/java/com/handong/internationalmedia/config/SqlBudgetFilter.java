@@ -0,0 +1,76 @@
+package com.handong.internationalmedia.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request executes and logs requests over
+ * {@code app.sql-budget.max-statements}. With {@code app.sql-budget.fail=true} the first
+ * statement over the budget throws instead, so an N+1 shows up as a failing request with
+ * the offending query on the stack. Runs ahead of security so login lookups count too.
+ * Bulk endpoints whose statement count grows with the input are listed in
+ * {@code app.sql-budget.exclude}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true")
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Value("${app.sql-budget.max-statements:10}")
+    private int maxStatements;
+
+    @Value("${app.sql-budget.fail:false}")
+    private boolean fail;
+
+    @Value("${app.sql-budget.exclude:}")
+    private String[] excludedPaths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : excludedPaths) {
+            if (!pattern.isBlank() && PATH_MATCHER.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long before = SqlStatementCounter.current();
+        if (fail) {
+            SqlStatementCounter.failAbove(before + maxStatements,
+                    request.getMethod() + " " + request.getRequestURI() + " (budget " + maxStatements + ")");
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (fail) {
+                SqlStatementCounter.clearLimit();
+            }
+            long executed = SqlStatementCounter.current() - before;
+            if (executed > maxStatements) {
+                log.warn("{} {} executed {} SQL statements, over the budget of {}",
+                        request.getMethod(), request.getRequestURI(), executed, maxStatements);
+            }
+        }
+    }
+}
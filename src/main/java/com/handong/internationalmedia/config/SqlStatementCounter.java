@@ -0,0 +1,53 @@
+package com.handong.internationalmedia.config;
+
+/**
+ * Per-thread tally of SQL statements sent through {@link StatementCountingDataSource}.
+ * The tally only grows; callers measure a unit of work by taking {@link #current()}
+ * before and after it. A batch counts once, as it is one round trip.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Statements executed on the current thread so far.
+     */
+    public static long current() {
+        return STATE.get().executed;
+    }
+
+    /**
+     * Makes every statement past {@code limit}, in {@link #current()} terms, throw on this
+     * thread until {@link #clearLimit()} is called, so the stack trace points at the query
+     * that broke the budget.
+     */
+    static void failAbove(long limit, String description) {
+        State state = STATE.get();
+        state.failAbove = limit;
+        state.description = description;
+    }
+
+    static void clearLimit() {
+        State state = STATE.get();
+        state.failAbove = Long.MAX_VALUE;
+        state.description = null;
+    }
+
+    static void record(String sql) {
+        State state = STATE.get();
+        state.executed++;
+        if (state.executed > state.failAbove) {
+            throw new IllegalStateException("SQL statement budget exceeded by " + state.description
+                    + (sql != null ? ": " + sql : ""));
+        }
+    }
+
+    private static final class State {
+        private long executed;
+        private long failAbove = Long.MAX_VALUE;
+        private String description;
+    }
+}
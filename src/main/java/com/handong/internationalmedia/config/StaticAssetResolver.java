@@ -0,0 +1,228 @@
+package com.handong.internationalmedia.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves static assets from a catalog built once by scanning the classpath location,
+ * so a request never touches the filesystem or jar to check existence. Build-time
+ * {@code .br} and {@code .gz} siblings are served when the client accepts them, and
+ * unknown paths can fall back to one shared SPA entry point.
+ */
+@Slf4j
+public class StaticAssetResolver extends AbstractResourceResolver {
+
+    private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    private final String location;
+    @Nullable
+    private final String spaFallback;
+
+    private volatile Map<String, Asset> catalog;
+
+    /**
+     * @param location    classpath location, e.g. {@code "classpath:/static/"}
+     * @param spaFallback path served for unknown non-API routes, or null to return 404
+     */
+    public StaticAssetResolver(String location, @Nullable String spaFallback) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.spaFallback = spaFallback;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Map<String, Asset> assets = catalog();
+        Asset asset = assets.get(requestPath);
+        if (asset == null && spaFallback != null && !requestPath.startsWith("api/")) {
+            // React Router owns every other route; index.html bootstraps it
+            asset = assets.get(spaFallback);
+        }
+        if (asset == null) {
+            return null;
+        }
+        return request != null ? asset.select(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) : asset.resource;
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return catalog().containsKey(resourceUrlPath) ? resourceUrlPath : null;
+    }
+
+    private Map<String, Asset> catalog() {
+        Map<String, Asset> assets = catalog;
+        if (assets == null) {
+            synchronized (this) {
+                assets = catalog;
+                if (assets == null) {
+                    assets = scan();
+                    catalog = assets;
+                }
+            }
+        }
+        return assets;
+    }
+
+    private Map<String, Asset> scan() {
+        PathMatchingResourcePatternResolver patternResolver = new PathMatchingResourcePatternResolver();
+        Map<String, Resource> files = new HashMap<>();
+        try {
+            String base = patternResolver.getResource(location).getURL().toString();
+            for (Resource resource : patternResolver.getResources(location + "**")) {
+                String url = resource.getURL().toString();
+                if (url.endsWith("/") || !url.startsWith(base) || !resource.isReadable()) {
+                    continue;
+                }
+                files.put(url.substring(base.length()), resource);
+            }
+        } catch (IOException e) {
+            log.warn("Could not scan static assets under {}", location, e);
+        }
+
+        Map<String, Asset> assets = new HashMap<>();
+        files.forEach((path, resource) -> {
+            if (path.endsWith(".br") || path.endsWith(".gz")) {
+                return;
+            }
+            Map<String, Resource> variants = new HashMap<>();
+            for (String[] encoding : ENCODINGS) {
+                Resource variant = files.get(path + encoding[1]);
+                if (variant != null) {
+                    variants.put(encoding[0], new EncodedAsset(variant, resource.getFilename(), encoding[0]));
+                }
+            }
+            assets.put(path, new Asset(resource, variants));
+        });
+        log.info("Static asset catalog for {} holds {} files", location, assets.size());
+        return Map.copyOf(assets);
+    }
+
+    private static final class Asset {
+        private final Resource resource;
+        private final Resource identity;
+        private final Map<String, Resource> variants;
+
+        private Asset(Resource resource, Map<String, Resource> variants) {
+            this.resource = resource;
+            // Caches must key the uncompressed body on Accept-Encoding too
+            this.identity = variants.isEmpty() ? resource : new EncodedAsset(resource, resource.getFilename(), null);
+            this.variants = Map.copyOf(variants);
+        }
+
+        Resource select(@Nullable String acceptEncoding) {
+            if (acceptEncoding == null || variants.isEmpty()) {
+                return identity;
+            }
+            Map<String, Boolean> accepted = acceptedCodings(acceptEncoding);
+            boolean wildcard = accepted.getOrDefault("*", false);
+            for (String[] encoding : ENCODINGS) {
+                Resource variant = variants.get(encoding[0]);
+                if (variant != null && accepted.getOrDefault(encoding[0], wildcard)) {
+                    return variant;
+                }
+            }
+            return identity;
+        }
+    }
+
+    /**
+     * Parses an Accept-Encoding header into coding names and whether each is acceptable;
+     * a coding listed with {@code q=0} is refused.
+     */
+    private static Map<String, Boolean> acceptedCodings(String acceptEncoding) {
+        Map<String, Boolean> accepted = new HashMap<>();
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.isEmpty()) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            accepted.put(coding, quality > 0);
+        }
+        return accepted;
+    }
+
+    /**
+     * Negotiated body that keeps the original filename so the media type is derived
+     * from the uncompressed name. A null coding is the identity body.
+     */
+    private static final class EncodedAsset extends AbstractResource implements HttpResource {
+        private final Resource encoded;
+        private final String filename;
+        @Nullable
+        private final String coding;
+
+        private EncodedAsset(Resource encoded, String filename, @Nullable String coding) {
+            this.encoded = encoded;
+            this.filename = filename;
+            this.coding = coding;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return encoded.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return encoded.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return encoded.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return encoded.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (coding != null) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, coding);
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return headers;
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.handong.internationalmedia.config;
 
+import com.handong.internationalmedia.service.LocalImageStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.resource.PathResourceResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 
-import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${app.image-store.type:cloudinary}")
+    private String imageStoreType;
+
+    @Value("${app.image-store.local.dir:${java.io.tmpdir}/him-images}")
+    private String localImageDir;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -24,27 +31,25 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if ("local".equals(imageStoreType)) {
+            // Blobs are named by their SHA-256, so a URL never changes content
+            registry.addResourceHandler(LocalImageStore.URL_PREFIX + "**")
+                    .addResourceLocations(Path.of(localImageDir).toUri().toString())
+                    .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        }
+
+        // CRA emits content-hashed names under build/static, so these never change in place
+        registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/static/static/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(false)
+                .addResolver(new StaticAssetResolver("classpath:/static/static/", null));
+
+        // index.html and unhashed public files must be revalidated so new bundles are picked up
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
-                .resourceChain(true)
-                .addResolver(new PathResourceResolver() {
-                    @Override
-                    protected Resource getResource(String resourcePath, Resource location) throws IOException {
-                        Resource requestedResource = location.createRelative(resourcePath);
-                        
-                        // If the resource exists, return it
-                        if (requestedResource.exists() && requestedResource.isReadable()) {
-                            return requestedResource;
-                        }
-                        
-                        // For React Router: if resource doesn't exist and it's not an API call,
-                        // return index.html to let React Router handle the routing
-                        if (!resourcePath.startsWith("api/")) {
-                            return new ClassPathResource("/static/index.html");
-                        }
-                        
-                        return null;
-                    }
-                });
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(false)
+                .addResolver(new StaticAssetResolver("classpath:/static/", "index.html"));
     }
-}
\ No newline at end of file
+}
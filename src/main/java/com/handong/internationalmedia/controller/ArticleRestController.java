@@ -1,26 +1,32 @@
 package com.handong.internationalmedia.controller;
 
 import com.handong.internationalmedia.dto.ArticleDto;
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
 import com.handong.internationalmedia.entity.Article;
 import com.handong.internationalmedia.entity.Category;
 import com.handong.internationalmedia.entity.User;
 import com.handong.internationalmedia.service.ArticleService;
+import com.handong.internationalmedia.service.ContentVersions;
+import com.handong.internationalmedia.service.FrontPageService;
 import com.handong.internationalmedia.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -31,56 +37,133 @@ public class ArticleRestController {
 
     private final ArticleService articleService;
     private final UserService userService;
+    private final FrontPageService frontPageService;
+    private final ContentVersions contentVersions;
 
     @GetMapping
-    public ResponseEntity<Page<ArticleDto>> getAllArticles(
+    public ResponseEntity<Page<ArticleSummaryDto>> getAllArticles(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        String etag = contentVersions.articlesEtag("all-" + page + "-" + size);
+        long lastModified = contentVersions.getArticlesLastModified();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.getAllPublishedArticles(pageable);
-        Page<ArticleDto> articleDtos = articles.map(this::convertToDto);
-        return ResponseEntity.ok(articleDtos);
+        Page<ArticleSummaryDto> articles = articleService.getAllPublishedArticles(pageable);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(articles);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<?> getArticleFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(articleService.getPublishedFeed(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ArticleDto> getArticleById(@PathVariable Long id) {
+    public ResponseEntity<ArticleDto> getArticleById(@PathVariable Long id, WebRequest request) {
+        // Validate against updated_at alone so a 304 never loads or serializes the body
+        Optional<LocalDateTime> updatedAt = articleService.getArticleLastModified(id);
+        if (updatedAt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ContentVersions.articleEtag(id, updatedAt.get());
+        long lastModified = ContentVersions.toEpochMillis(updatedAt.get());
+        if (request.checkNotModified(etag, lastModified)) {
+            articleService.incrementViewCount(id);
+            return null;
+        }
+        
         return articleService.getArticleById(id)
                 .map(article -> {
                     articleService.incrementViewCount(id);
-                    return ResponseEntity.ok(convertToDto(article));
+                    return ResponseEntity.ok()
+                            .cacheControl(CacheControl.noCache())
+                            .eTag(etag)
+                            .lastModified(lastModified)
+                            .body(convertToDto(article));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<ArticleSummaryDto>> getRelatedArticles(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(articleService.getRelatedArticles(id, Math.max(1, limit)));
+    }
+
     @GetMapping("/category/{categoryName}")
-    public ResponseEntity<Page<ArticleDto>> getArticlesByCategory(
+    public ResponseEntity<Page<ArticleSummaryDto>> getArticlesByCategory(
             @PathVariable String categoryName,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        String etag = contentVersions.articlesEtag("category-"
+                + Integer.toHexString(categoryName.toLowerCase(Locale.ROOT).hashCode()) + "-" + page + "-" + size);
+        long lastModified = contentVersions.getArticlesLastModified();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.getArticlesByCategory(categoryName, pageable);
-        Page<ArticleDto> articleDtos = articles.map(this::convertToDto);
-        return ResponseEntity.ok(articleDtos);
+        Page<ArticleSummaryDto> articles = articleService.getArticlesByCategory(categoryName, pageable);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(articles);
+    }
+
+    @GetMapping("/category/{categoryName}/feed")
+    public ResponseEntity<?> getCategoryFeed(
+            @PathVariable String categoryName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(articleService.getCategoryFeed(categoryName, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<ArticleDto>> getFeaturedArticles() {
-        List<Article> articles = articleService.getFeaturedArticles();
-        List<ArticleDto> articleDtos = articles.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(articleDtos);
+    public ResponseEntity<List<ArticleSummaryDto>> getFeaturedArticles() {
+        return ResponseEntity.ok(frontPageService.getSnapshot().getFeaturedArticles());
+    }
+
+    @GetMapping("/popular")
+    public ResponseEntity<List<ArticleSummaryDto>> getPopularArticles(
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(articleService.getPopularArticles(k, category));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<ArticleSummaryDto>> getTrendingArticles(
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(articleService.getTrendingArticles(category));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<ArticleDto>> searchArticles(
+    public ResponseEntity<Page<ArticleSummaryDto>> searchArticles(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.searchArticles(keyword, pageable);
-        Page<ArticleDto> articleDtos = articles.map(this::convertToDto);
-        return ResponseEntity.ok(articleDtos);
+        Page<ArticleSummaryDto> articles = articleService.searchArticles(keyword, pageable);
+        return ResponseEntity.ok(articles);
     }
 
     @PostMapping
@@ -146,7 +229,7 @@ public class ArticleRestController {
         }
     }
 
-    private ArticleDto convertToDto(Article article) {
+    static ArticleDto convertToDto(Article article) {
         return ArticleDto.builder()
                 .id(article.getId())
                 .title(article.getTitle())
@@ -155,6 +238,7 @@ public class ArticleRestController {
                 .authorName(article.getAuthor() != null ? article.getAuthor().getFullName() : "Unknown")
                 .categoryName(article.getCategory() != null ? article.getCategory().getName() : null)
                 .featuredImage(article.getFeaturedImage())
+                .imagePending(Boolean.TRUE.equals(article.getImagePending()))
                 .viewCount(article.getViewCount())
                 .isFeatured(article.getIsFeatured())
                 .isPublished(article.getIsPublished())
@@ -167,7 +251,7 @@ public class ArticleRestController {
     private Article convertToEntity(ArticleDto dto) {
         Category category = null;
         if (dto.getCategoryName() != null) {
-            category = articleService.getCategoryByName(dto.getCategoryName())
+            category = articleService.getCategoryForAssignment(dto.getCategoryName())
                     .orElseThrow(() -> new RuntimeException("Category not found: " + dto.getCategoryName()));
         }
 
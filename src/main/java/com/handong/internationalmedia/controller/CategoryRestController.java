@@ -1,11 +1,14 @@
 package com.handong.internationalmedia.controller;
 
 import com.handong.internationalmedia.dto.CategoryDto;
-import com.handong.internationalmedia.entity.Category;
 import com.handong.internationalmedia.service.ArticleService;
+import com.handong.internationalmedia.service.CategoryRegistry.CategoryView;
+import com.handong.internationalmedia.service.ContentVersions;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,24 +20,39 @@ import java.util.stream.Collectors;
 public class CategoryRestController {
 
     private final ArticleService articleService;
+    private final ContentVersions contentVersions;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<Category> categories = articleService.getAllActiveCategories();
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        String etag = contentVersions.categoriesEtag("active");
+        long lastModified = contentVersions.getCategoriesLastModified();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        
+        List<CategoryView> categories = articleService.getAllActiveCategories();
         List<CategoryDto> categoryDtos = categories.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(categoryDtos);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(categoryDtos);
     }
 
     @GetMapping("/{name}")
     public ResponseEntity<CategoryDto> getCategoryByName(@PathVariable String name) {
         return articleService.getCategoryByName(name)
-                .map(category -> ResponseEntity.ok(convertToDto(category)))
+                .map(category -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .eTag(contentVersions.categoriesEtag("id-" + category.getId()))
+                        .lastModified(contentVersions.getCategoriesLastModified())
+                        .body(convertToDto(category)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    private CategoryDto convertToDto(Category category) {
+    private CategoryDto convertToDto(CategoryView category) {
         return CategoryDto.builder()
                 .id(category.getId())
                 .name(category.getName())
@@ -1,8 +1,14 @@
 package com.handong.internationalmedia.controller;
 
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.dto.ResponsiveImage;
+import com.handong.internationalmedia.dto.CursorPageDto;
 import com.handong.internationalmedia.entity.Article;
-import com.handong.internationalmedia.entity.Category;
 import com.handong.internationalmedia.service.ArticleService;
+import com.handong.internationalmedia.service.CategoryRegistry.CategoryView;
+import com.handong.internationalmedia.service.FeedCursor;
+import com.handong.internationalmedia.service.FrontPageService;
+import com.handong.internationalmedia.service.FrontPageSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -10,7 +16,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,21 +27,17 @@ import java.util.Optional;
 public class HomeController {
     
     private final ArticleService articleService;
+    private final FrontPageService frontPageService;
     
     @GetMapping("/")
     public String home(Model model) {
-        // Get featured articles for hero section
-        List<Article> featuredArticles = articleService.getFeaturedArticles();
+        // Featured, category and latest sections all come from the precomputed snapshot
+        FrontPageSnapshot snapshot = frontPageService.getSnapshot();
         
-        // Get latest articles for each category (5 per category)
-        List<Category> categories = articleService.getAllActiveCategories();
-        
-        // Get latest 10 articles for "You will also like" section
-        List<Article> latestArticles = articleService.getLatestArticles(10);
-        
-        model.addAttribute("featuredArticles", featuredArticles);
-        model.addAttribute("categories", categories);
-        model.addAttribute("latestArticles", latestArticles);
+        model.addAttribute("featuredArticles", snapshot.getFeaturedArticles());
+        model.addAttribute("categories", snapshot.getCategories());
+        model.addAttribute("latestArticles", snapshot.getLatestArticles());
+        model.addAttribute("trendingArticles", articleService.getTrendingArticles(null));
         
         return "index";
     }
@@ -42,16 +46,31 @@ public class HomeController {
     public String articles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String cursor,
             Model model) {
         
+        // Cursor mode seeks on (published_at, id) so deep feeds never scan an OFFSET
+        if (cursor != null) {
+            CursorPageDto<ArticleSummaryDto> feed;
+            try {
+                feed = articleService.getPublishedFeed(cursor, size);
+            } catch (IllegalArgumentException e) {
+                return "redirect:/articles";
+            }
+            addFeed(model, feed);
+            model.addAttribute("categories", articleService.getAllActiveCategories());
+            return "articles/list";
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.getAllPublishedArticles(pageable);
-        List<Category> categories = articleService.getAllActiveCategories();
+        Page<ArticleSummaryDto> articles = articleService.getAllPublishedArticles(pageable);
+        List<CategoryView> categories = articleService.getAllActiveCategories();
         
         model.addAttribute("articles", articles);
         model.addAttribute("categories", categories);
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", articles.getTotalPages());
+        addHandOver(model, articles);
         
         return "articles/list";
     }
@@ -68,12 +87,12 @@ public class HomeController {
         // Increment view count
         articleService.incrementViewCount(id);
         
-        // Get related articles from same category
-        List<Article> relatedArticles = articleService.getLatestArticles(5);
+        List<ArticleSummaryDto> relatedArticles = articleService.getRelatedArticles(id, 5);
         
-        List<Category> categories = articleService.getAllActiveCategories();
+        List<CategoryView> categories = articleService.getAllActiveCategories();
         
         model.addAttribute("article", article);
+        model.addAttribute("featuredImageSrcset", ResponsiveImage.srcset(article.getId(), article.getFeaturedImage()));
         model.addAttribute("relatedArticles", relatedArticles);
         model.addAttribute("categories", categories);
         
@@ -85,22 +104,37 @@ public class HomeController {
             @PathVariable String categoryName,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String cursor,
             Model model) {
         
-        Optional<Category> categoryOpt = articleService.getCategoryByName(categoryName);
+        Optional<CategoryView> categoryOpt = articleService.getCategoryByName(categoryName);
         if (categoryOpt.isEmpty()) {
             return "redirect:/";
         }
         
+        if (cursor != null) {
+            CursorPageDto<ArticleSummaryDto> feed;
+            try {
+                feed = articleService.getCategoryFeed(categoryName, cursor, size);
+            } catch (IllegalArgumentException e) {
+                return "redirect:/category/" + UriUtils.encodePathSegment(categoryName, StandardCharsets.UTF_8);
+            }
+            addFeed(model, feed);
+            model.addAttribute("categories", articleService.getAllActiveCategories());
+            model.addAttribute("currentCategory", categoryOpt.get());
+            return "articles/category";
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.getArticlesByCategory(categoryName, pageable);
-        List<Category> categories = articleService.getAllActiveCategories();
+        Page<ArticleSummaryDto> articles = articleService.getArticlesByCategory(categoryName, pageable);
+        List<CategoryView> categories = articleService.getAllActiveCategories();
         
         model.addAttribute("articles", articles);
         model.addAttribute("categories", categories);
         model.addAttribute("currentCategory", categoryOpt.get());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", articles.getTotalPages());
+        addHandOver(model, articles);
         
         return "articles/category";
     }
@@ -113,8 +147,8 @@ public class HomeController {
             Model model) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> articles = articleService.searchArticles(q, pageable);
-        List<Category> categories = articleService.getAllActiveCategories();
+        Page<ArticleSummaryDto> articles = articleService.searchArticles(q, pageable);
+        List<CategoryView> categories = articleService.getAllActiveCategories();
         
         model.addAttribute("articles", articles);
         model.addAttribute("categories", categories);
@@ -125,4 +159,24 @@ public class HomeController {
         return "articles/search";
     }
     
-}
\ No newline at end of file
+    private static void addFeed(Model model, CursorPageDto<ArticleSummaryDto> feed) {
+        model.addAttribute("articles", feed.getContent());
+        model.addAttribute("currentPage", 0);
+        model.addAttribute("totalPages", 0);
+        model.addAttribute("size", feed.getSize());
+        model.addAttribute("nextCursor", feed.getNextCursor());
+    }
+    
+    /**
+     * "Older articles" from a numbered page continues in cursor mode after its last row,
+     * so reading further back never costs an OFFSET scan.
+     */
+    private static void addHandOver(Model model, Page<ArticleSummaryDto> articles) {
+        model.addAttribute("size", articles.getSize());
+        if (articles.hasNext() && articles.hasContent()) {
+            List<ArticleSummaryDto> content = articles.getContent();
+            model.addAttribute("nextCursor", FeedCursor.after(content.get(content.size() - 1)));
+        }
+    }
+    
+}
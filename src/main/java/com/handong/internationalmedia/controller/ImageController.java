@@ -0,0 +1,61 @@
+package com.handong.internationalmedia.controller;
+
+import com.handong.internationalmedia.dto.ResponsiveImage;
+import com.handong.internationalmedia.service.ImageVariants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Resized featured images as JPEG. {@code w} is rounded up to one of
+ * {@link ResponsiveImage#WIDTHS}. URLs carrying the current {@code v} are immutable and
+ * cached for a year.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageVariants imageVariants;
+
+    @GetMapping("/img/{articleId}")
+    public ResponseEntity<byte[]> getImage(
+            @PathVariable Long articleId,
+            @RequestParam(name = "w", defaultValue = "" + ResponsiveImage.DEFAULT_WIDTH) int width,
+            @RequestParam(name = "v", required = false) String version) {
+        ImageVariants.Variant variant;
+        try {
+            variant = imageVariants.get(articleId, version, ImageVariants.snapWidth(width)).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Could not produce image variant for article {}, serving the original", articleId, e);
+            return imageVariants.source(articleId)
+                    .<ResponseEntity<byte[]>>map(source -> ResponseEntity.status(HttpStatus.FOUND)
+                            .location(URI.create(source))
+                            .cacheControl(CacheControl.noStore())
+                            .build())
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+        if (variant == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CacheControl cacheControl = variant.getVersion().equals(version)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .contentLength(variant.getBody().length)
+                .cacheControl(cacheControl)
+                .body(variant.getBody());
+    }
+}
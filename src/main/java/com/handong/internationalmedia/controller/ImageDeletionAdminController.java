@@ -0,0 +1,32 @@
+package com.handong.internationalmedia.controller;
+
+import com.handong.internationalmedia.entity.ImageDeleteTask;
+import com.handong.internationalmedia.service.ImageDeleteQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/image-deletions")
+@RequiredArgsConstructor
+@Tag(name = "Image Deletion API", description = "이미지 삭제 큐 관리 API")
+public class ImageDeletionAdminController {
+    
+    private final ImageDeleteQueue imageDeleteQueue;
+    
+    @Operation(summary = "실패한 이미지 삭제 목록", description = "재시도 횟수를 모두 소진한 이미지 삭제 요청을 조회합니다.")
+    @GetMapping("/failed")
+    public ResponseEntity<List<ImageDeleteTask>> getFailed(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(imageDeleteQueue.getFailed(Math.max(1, Math.min(limit, 1000))));
+    }
+    
+    @Operation(summary = "이미지 삭제 재시도", description = "실패한 이미지 삭제 요청을 다시 큐에 넣습니다.")
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<Void> retry(@PathVariable Long id) {
+        return imageDeleteQueue.retry(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+    }
+}
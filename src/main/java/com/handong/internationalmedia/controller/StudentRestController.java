@@ -1,7 +1,10 @@
 package com.handong.internationalmedia.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.handong.internationalmedia.dto.StudentDto;
+import com.handong.internationalmedia.dto.StudentImportResult;
 import com.handong.internationalmedia.entity.Student;
+import com.handong.internationalmedia.service.StudentImportService;
 import com.handong.internationalmedia.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,15 +13,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,7 +41,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 @Tag(name = "Student API", description = "학생 관리 REST API")
 public class StudentRestController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "학생 목록 조회", description = "전체 학생 목록을 페이징하여 조회합니다.")
     @ApiResponses({
@@ -138,4 +156,71 @@ public class StudentRestController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "학생 일괄 등록 (CSV)",
+            description = "name, email 헤더가 있는 CSV 파일을 스트리밍으로 읽어 학생을 일괄 등록하고 행별 오류 목록을 반환합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "처리 완료 (일부 행은 거부될 수 있음)"),
+        @ApiResponse(responseCode = "400", description = "헤더 누락 또는 지원하지 않는 문자 인코딩")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStudents(
+            @Parameter(description = "CSV 파일") @RequestParam("file") MultipartFile file,
+            @Parameter(description = "문자 인코딩 (예: UTF-8, MS949)") @RequestParam(defaultValue = "UTF-8") String charset) {
+        try (Reader csv = openCsv(file, charset)) {
+            return ResponseEntity.ok(studentImportService.importCsv(csv, progress -> { }));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "CSV 파일을 읽을 수 없습니다.");
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "학생 일괄 등록 (CSV, 진행 상황)",
+            description = "progress=true이면 청크가 커밋될 때마다 진행 상황을 NDJSON 한 줄로 보내고, 마지막 줄에 전체 결과를 보냅니다.")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = "progress=true")
+    public void importStudentsWithProgress(
+            @Parameter(description = "CSV 파일") @RequestParam("file") MultipartFile file,
+            @Parameter(description = "문자 인코딩 (예: UTF-8, MS949)") @RequestParam(defaultValue = "UTF-8") String charset,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+        try (Reader csv = openCsv(file, charset)) {
+            StudentImportResult result = studentImportService.importCsv(csv, progress -> {
+                try {
+                    writeLine(out, progress);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeLine(out, result);
+        } catch (IllegalArgumentException e) {
+            // Header problems surface before the first progress line, so the status can still change
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+            }
+            writeLine(out, Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Reader openCsv(MultipartFile file, String charset) throws IOException {
+        Charset encoding;
+        try {
+            encoding = Charset.forName(charset);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("지원하지 않는 문자 인코딩입니다: " + charset);
+        }
+        return new BufferedReader(new InputStreamReader(file.getInputStream(), encoding));
+    }
+
+    private void writeLine(Writer out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsString(value));
+        out.write('\n');
+        out.flush();
+    }
+}
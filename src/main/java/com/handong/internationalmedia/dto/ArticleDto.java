@@ -26,6 +26,8 @@ public class ArticleDto {
     
     private String featuredImage;
     
+    private Boolean imagePending;
+    
     private Integer readTime;
     
     private Boolean isFeatured = false;
@@ -44,4 +46,14 @@ public class ArticleDto {
     private String createdAt;
     
     private String updatedAt;
+    
+    /** Default-width resized variant of {@code featuredImage}, or null when there is none. */
+    public String getImageUrl() {
+        return ResponsiveImage.url(id, featuredImage, ResponsiveImage.DEFAULT_WIDTH);
+    }
+    
+    /** {@code srcset} value listing every resized width of {@code featuredImage}. */
+    public String getImageSrcset() {
+        return ResponsiveImage.srcset(id, featuredImage);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.handong.internationalmedia.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-row view of an article without the body. Populated directly by JPQL
+ * constructor expressions, so the field order must match the repository queries.
+ * Read-only by design; instances are shared between requests.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class ArticleSummaryDto {
+    /** Characters of the body shown on a card when the article has no summary. */
+    public static final int EXCERPT_LENGTH = 150;
+    
+    private Long id;
+    
+    private String title;
+    
+    private String summary;
+    
+    private String featuredImage;
+    
+    private Integer readTime;
+    
+    private String categoryName;
+    
+    private String authorName;
+    
+    private Long viewCount;
+    
+    private Boolean isFeatured;
+    
+    private Boolean isPublished;
+    
+    private LocalDateTime publishedAt;
+    
+    private LocalDateTime createdAt;
+    
+    /**
+     * The first {@code EXCERPT_LENGTH + 1} characters of the body, selected only when
+     * {@code summary} is null so list queries never read the whole TEXT column.
+     */
+    @JsonIgnore
+    private String contentPreview;
+    
+    /** Card text: the summary, or the start of the body when there is none. */
+    public String getExcerpt() {
+        if (summary != null || contentPreview == null) {
+            return summary;
+        }
+        return contentPreview.length() > EXCERPT_LENGTH
+                ? contentPreview.substring(0, EXCERPT_LENGTH) + "..."
+                : contentPreview;
+    }
+    
+    /** The slice of {@code content} a summary projection carries for {@link #getExcerpt()}. */
+    public static String previewOf(String summary, String content) {
+        if (summary != null || content == null) {
+            return null;
+        }
+        return content.length() > EXCERPT_LENGTH + 1 ? content.substring(0, EXCERPT_LENGTH + 1) : content;
+    }
+    
+    /** Default-width resized variant of {@code featuredImage}, or null when there is none. */
+    public String getImageUrl() {
+        return ResponsiveImage.url(id, featuredImage, ResponsiveImage.DEFAULT_WIDTH);
+    }
+    
+    /** {@code srcset} value listing every resized width of {@code featuredImage}. */
+    public String getImageSrcset() {
+        return ResponsiveImage.srcset(id, featuredImage);
+    }
+}
@@ -0,0 +1,19 @@
+package com.handong.internationalmedia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated feed. {@code nextCursor} is opaque to clients and is
+ * null on the last slice.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,50 @@
+package com.handong.internationalmedia.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * URLs for the resized variants served by {@code /img/{articleId}}. The {@code v} parameter
+ * is a SHA-256 prefix of the source image URL, so replacing an article's image changes every
+ * variant URL and the old ones can be cached forever.
+ */
+public final class ResponsiveImage {
+
+    /** Widths the resize endpoint produces; any requested width is rounded up to one of these. */
+    public static final List<Integer> WIDTHS = List.of(320, 480, 640, 960, 1280);
+
+    public static final int DEFAULT_WIDTH = 640;
+
+    private ResponsiveImage() {
+    }
+
+    public static String url(Long articleId, String featuredImage, int width) {
+        if (articleId == null || featuredImage == null || featuredImage.isBlank()) {
+            return null;
+        }
+        return "/img/" + articleId + "?w=" + width + "&v=" + version(featuredImage);
+    }
+
+    public static String srcset(Long articleId, String featuredImage) {
+        if (articleId == null || featuredImage == null || featuredImage.isBlank()) {
+            return null;
+        }
+        return WIDTHS.stream()
+                .map(width -> url(articleId, featuredImage, width) + " " + width + "w")
+                .collect(Collectors.joining(", "));
+    }
+
+    public static String version(String featuredImage) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(featuredImage.getBytes(StandardCharsets.UTF_8));
+            // 64 bits: a collision would pin a stale image under a year-long immutable URL
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
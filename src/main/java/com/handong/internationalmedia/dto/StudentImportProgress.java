@@ -0,0 +1,15 @@
+package com.handong.internationalmedia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Running totals of a CSV student import, reported after each committed chunk.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentImportProgress {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+}
@@ -0,0 +1,29 @@
+package com.handong.internationalmedia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV student import. Every rejected row is counted in {@code failed}, but
+ * only the first {@code app.student-import.max-reported-errors} are listed.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentImportResult {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        /** Line of the CSV file the row starts on; the header is line 1. */
+        private int line;
+        private String email;
+        private String message;
+    }
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_articles_feed", columnList = "is_published, published_at, id"),
+        @Index(name = "idx_articles_category_feed", columnList = "category_id, is_published, published_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +36,11 @@ public class Article {
     @Column(name = "featured_image", length = 500)
     private String featuredImage;
 
+    // A new featured image is waiting in the upload outbox
+    @Column(name = "image_pending")
+    @Builder.Default
+    private Boolean imagePending = false;
+
     @Column(name = "read_time")
     private Integer readTime; // in minutes
 
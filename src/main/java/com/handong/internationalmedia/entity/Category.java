@@ -1,5 +1,6 @@
 package com.handong.internationalmedia.entity;
 
+import com.handong.internationalmedia.event.CategoryChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(CategoryChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
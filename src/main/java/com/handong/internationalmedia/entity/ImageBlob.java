@@ -0,0 +1,44 @@
+package com.handong.internationalmedia.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored image, keyed by the SHA-256 of its bytes. {@code referenceCount} is the number
+ * of uploads currently pointing at {@code url}; the blob is removed from the image store
+ * only when it drops to zero. A row at zero is kept until {@code ImageDeleteQueue} removes
+ * the image, and an upload of identical content in the meantime references it again.
+ */
+@Entity
+@Table(name = "image_blobs", indexes = {
+        @Index(name = "idx_image_blob_url", columnList = "url", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "reference_count", nullable = false)
+    private Integer referenceCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,25 @@
+package com.handong.internationalmedia.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ArticleService whenever an article is created, updated or deleted.
+ * Carries the category and published state from before and after the change so
+ * listeners can adjust per-category state without reloading the article.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Long articleId;
+    private final Type type;
+    private final Long previousCategoryId;
+    private final Long categoryId;
+    private final boolean previouslyPublished;
+    private final boolean published;
+}
@@ -0,0 +1,27 @@
+package com.handong.internationalmedia.event;
+
+import com.handong.internationalmedia.entity.Category;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns category writes into {@link CategoryChangedEvent}s,
+ * whichever code path performed them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCategoryWrite(Category category) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+    }
+}
@@ -1,38 +1,99 @@
 package com.handong.internationalmedia.repository;
 
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
 import com.handong.internationalmedia.entity.Article;
-import com.handong.internationalmedia.entity.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
     
-    Page<Article> findByIsPublishedTrueOrderByPublishedAtDesc(Pageable pageable);
+    String SUMMARY_SELECT = "SELECT new com.handong.internationalmedia.dto.ArticleSummaryDto(" +
+            "a.id, a.title, a.summary, a.featuredImage, a.readTime, c.name, u.fullName, " +
+            "a.viewCount, a.isFeatured, a.isPublished, a.publishedAt, a.createdAt, " +
+            "CASE WHEN a.summary IS NULL THEN SUBSTRING(a.content, 1, 151) ELSE NULL END) " +
+            "FROM Article a LEFT JOIN a.category c LEFT JOIN a.author u ";
     
-    Page<Article> findByCategoryAndIsPublishedTrueOrderByPublishedAtDesc(Category category, Pageable pageable);
+    @EntityGraph(attributePaths = {"author", "category"})
+    Optional<Article> findWithAuthorAndCategoryById(Long id);
     
-    List<Article> findByIsFeaturedTrueAndIsPublishedTrueOrderByPublishedAtDesc();
+    @Query("SELECT COALESCE(a.updatedAt, a.createdAt) FROM Article a WHERE a.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
     
-    @Query("SELECT a FROM Article a WHERE a.isPublished = true AND " +
+    @Query("SELECT a.featuredImage FROM Article a WHERE a.id = :id")
+    Optional<String> findFeaturedImageById(@Param("id") Long id);
+    
+    // Keyset batches for the in-memory indexes; ids are unique, so no row is skipped or read twice
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Article> findByIsPublishedTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // LIKE-scan baseline for ArticleServiceBenchmark; the app searches through ArticleSearchIndex
+    @EntityGraph(attributePaths = {"author", "category"})
+    @Query(value = "SELECT a FROM Article a WHERE a.isPublished = true AND " +
+           "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(a.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(a.summary) LIKE LOWER(CONCAT('%', :keyword, '%')))",
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE a.isPublished = true AND " +
            "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(a.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(a.summary) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Article> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
     
-    @Query("SELECT a FROM Article a WHERE LOWER(a.category.name) = LOWER(:categoryName) AND a.isPublished = true ORDER BY a.publishedAt DESC")
-    Page<Article> findByCategoryNameAndIsPublishedTrue(@Param("categoryName") String categoryName, Pageable pageable);
+    // Page slices without a COUNT; totals come from ArticleCountProvider. Ordered like the
+    // feed so a page can hand over to it with a cursor on its last row
+    @Query(SUMMARY_SELECT + "WHERE a.isPublished = true ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findPublishedSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.category.id = :categoryId AND a.isPublished = true " +
+           "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findPublishedSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query("SELECT a.category.id, COUNT(a) FROM Article a WHERE a.isPublished = true GROUP BY a.category.id")
+    List<Object[]> countPublishedByCategory();
+    
+    @Query(SUMMARY_SELECT + "WHERE a.isPublished = true AND a.publishedAt IS NOT NULL " +
+           "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findFeedHead(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.isPublished = true AND " +
+           "(a.publishedAt < :publishedAt OR (a.publishedAt = :publishedAt AND a.id < :id)) " +
+           "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findFeedAfter(@Param("publishedAt") LocalDateTime publishedAt,
+                                          @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.category.id = :categoryId AND a.isPublished = true AND a.publishedAt IS NOT NULL " +
+           "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findCategoryFeedHead(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.category.id = :categoryId AND a.isPublished = true AND " +
+           "(a.publishedAt < :publishedAt OR (a.publishedAt = :publishedAt AND a.id < :id)) " +
+           "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleSummaryDto> findCategoryFeedAfter(@Param("categoryId") Long categoryId,
+                                                  @Param("publishedAt") LocalDateTime publishedAt,
+                                                  @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids AND a.isPublished = true")
+    List<ArticleSummaryDto> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.isPublished = true ORDER BY a.publishedAt DESC")
+    List<ArticleSummaryDto> findLatestSummaries(Pageable pageable);
     
-    List<Article> findTop5ByCategoryAndIsPublishedTrueOrderByPublishedAtDesc(Category category);
+    @Query(SUMMARY_SELECT + "WHERE a.isFeatured = true AND a.isPublished = true ORDER BY a.publishedAt DESC")
+    List<ArticleSummaryDto> findFeaturedSummaries(Pageable pageable);
     
-    List<Article> findTop10ByIsPublishedTrueOrderByViewCountDesc();
+    @Query("SELECT a.id, a.category.id, a.viewCount FROM Article a WHERE a.isPublished = true")
+    List<Object[]> findPublishedViewCounts();
     
-    @Query("SELECT a FROM Article a WHERE a.isPublished = true ORDER BY a.publishedAt DESC")
-    List<Article> findLatestArticles(Pageable pageable);
+    @Query("SELECT a.id, a.category.id FROM Article a WHERE a.id IN :ids AND a.isPublished = true")
+    List<Object[]> findPublishedCategoryIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.handong.internationalmedia.repository;
+
+import com.handong.internationalmedia.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+    
+    Optional<ImageBlob> findByUrl(String url);
+    
+    @Query("SELECT b.url FROM ImageBlob b WHERE b.url IN :urls")
+    List<String> findUrlsByUrlIn(@Param("urls") Collection<String> urls);
+    
+    /**
+     * Adds a reference to an existing blob; returns 0 when the content has not been stored yet.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageBlob b SET b.referenceCount = b.referenceCount + 1 WHERE b.hash = :hash")
+    int addReference(@Param("hash") String hash);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.hash = :hash AND b.referenceCount > 0")
+    int releaseReference(@Param("hash") String hash);
+    
+    /**
+     * Removes the rows among these URLs whose last reference is gone. The deleted rows stay
+     * locked until the caller's transaction ends, so an upload of the same content waits.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ImageBlob b WHERE b.url IN :urls AND b.referenceCount <= 0")
+    int deleteUnreferencedByUrlIn(@Param("urls") Collection<String> urls);
+}
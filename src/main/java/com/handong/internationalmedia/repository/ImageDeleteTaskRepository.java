@@ -0,0 +1,44 @@
+package com.handong.internationalmedia.repository;
+
+import com.handong.internationalmedia.entity.ImageDeleteTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageDeleteTaskRepository extends JpaRepository<ImageDeleteTask, Long> {
+    
+    @Query("SELECT t.id FROM ImageDeleteTask t WHERE t.status = :status AND t.nextAttemptAt <= :now " +
+           "ORDER BY t.nextAttemptAt ASC, t.id ASC")
+    List<Long> findDueIds(@Param("status") ImageDeleteTask.Status status,
+                          @Param("now") LocalDateTime now, Pageable pageable);
+    
+    List<ImageDeleteTask> findByIdInAndStatus(Collection<Long> ids, ImageDeleteTask.Status status);
+    
+    List<ImageDeleteTask> findByStatusOrderByUpdatedAtDesc(ImageDeleteTask.Status status, Pageable pageable);
+    
+    /**
+     * Claims a batch of pending rows; rows another instance claimed first are left alone.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageDeleteTask t SET t.status = :to, t.updatedAt = :now WHERE t.id IN :ids AND t.status = :from")
+    int transition(@Param("ids") Collection<Long> ids, @Param("from") ImageDeleteTask.Status from,
+                   @Param("to") ImageDeleteTask.Status to, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ImageDeleteTask t SET t.status = :to WHERE t.status = :from")
+    int transitionAll(@Param("from") ImageDeleteTask.Status from, @Param("to") ImageDeleteTask.Status to);
+    
+    @Modifying
+    @Query("UPDATE ImageDeleteTask t SET t.status = :to, t.attempts = 0, t.nextAttemptAt = :now, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status = :from")
+    int requeue(@Param("id") Long id, @Param("from") ImageDeleteTask.Status from,
+                @Param("to") ImageDeleteTask.Status to, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,35 @@
+package com.handong.internationalmedia.repository;
+
+import com.handong.internationalmedia.entity.ImageUploadTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageUploadTaskRepository extends JpaRepository<ImageUploadTask, Long> {
+    
+    @Query("SELECT t FROM ImageUploadTask t WHERE t.status = :status AND t.nextAttemptAt <= :now " +
+           "ORDER BY t.nextAttemptAt ASC, t.id ASC")
+    List<ImageUploadTask> findDue(@Param("status") ImageUploadTask.Status status,
+                                  @Param("now") LocalDateTime now, Pageable pageable);
+    
+    List<ImageUploadTask> findByArticleIdAndStatusIn(Long articleId, List<ImageUploadTask.Status> statuses);
+    
+    /**
+     * Claims a pending task for one worker; returns 0 when another worker got it first.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageUploadTask t SET t.status = :to, t.updatedAt = :now WHERE t.id = :id AND t.status = :from")
+    int transition(@Param("id") Long id, @Param("from") ImageUploadTask.Status from,
+                   @Param("to") ImageUploadTask.Status to, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ImageUploadTask t SET t.status = :to WHERE t.status = :from")
+    int transitionAll(@Param("from") ImageUploadTask.Status from, @Param("to") ImageUploadTask.Status to);
+}
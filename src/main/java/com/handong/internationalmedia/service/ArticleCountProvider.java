@@ -0,0 +1,146 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published article totals kept in memory so paged listings don't need a COUNT query.
+ * Counts are adjusted from {@link ArticleChangedEvent}s and periodically reconciled
+ * against the database to absorb writes that bypass ArticleService. A reload whose query
+ * overlapped an article change cannot tell whether the snapshot already counts it, so the
+ * result is discarded and the query retried; if changes keep landing, the last result is
+ * taken as is and the counts stay approximate until the next reconcile.
+ */
+@Slf4j
+@Component
+public class ArticleCountProvider {
+
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final ArticleRepository articleRepository;
+
+    private final Map<Long, Long> publishedByCategory = new HashMap<>();
+    private long publishedTotal;
+    private volatile boolean loaded;
+    // One change log per reload in flight, guarded by this
+    private final List<List<ArticleChangedEvent>> reloadLogs = new ArrayList<>();
+
+    public ArticleCountProvider(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    public long getPublishedCount() {
+        ensureLoaded();
+        synchronized (this) {
+            return publishedTotal;
+        }
+    }
+
+    public long getPublishedCount(Long categoryId) {
+        ensureLoaded();
+        synchronized (this) {
+            return publishedByCategory.getOrDefault(categoryId, 0L);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        reloadLogs.forEach(changes -> changes.add(event));
+        if (loaded) {
+            applyEvent(event);
+        }
+    }
+
+    private void applyEvent(ArticleChangedEvent event) {
+        if (event.isPreviouslyPublished()) {
+            adjust(event.getPreviousCategoryId(), -1);
+        }
+        if (event.isPublished()) {
+            adjust(event.getCategoryId(), 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.article-counts.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.article-counts.reconcile-interval-ms:600000}")
+    public void reload() {
+        for (int attempt = 1; ; attempt++) {
+            List<ArticleChangedEvent> changes = new ArrayList<>();
+            synchronized (this) {
+                reloadLogs.add(changes);
+            }
+            List<Object[]> rows;
+            try {
+                // Query outside the monitor so readers never wait on (or pin a carrier behind) JDBC
+                rows = articleRepository.countPublishedByCategory();
+            } catch (RuntimeException e) {
+                forget(changes);
+                throw e;
+            }
+            if (apply(rows, changes, attempt >= RELOAD_ATTEMPTS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Swaps in the queried counts unless an article changed while the query ran. Such a
+     * change may or may not be in the snapshot, and replaying its +-1 delta would count it
+     * twice when it is, so the caller queries again instead.
+     */
+    private synchronized boolean apply(List<Object[]> rows, List<ArticleChangedEvent> changes, boolean lastAttempt) {
+        forget(changes);
+        if (!changes.isEmpty() && !lastAttempt) {
+            return false;
+        }
+        long previousTotal = publishedTotal;
+        publishedByCategory.clear();
+        publishedTotal = 0;
+        for (Object[] row : rows) {
+            Long categoryId = (Long) row[0];
+            long count = ((Number) row[1]).longValue();
+            if (categoryId != null) {
+                publishedByCategory.put(categoryId, count);
+            }
+            publishedTotal += count;
+        }
+        if (!changes.isEmpty()) {
+            log.debug("Article counts reloaded while {} changes landed; approximate until the next reconcile",
+                    changes.size());
+        }
+        if (loaded && previousTotal != publishedTotal) {
+            log.info("Reconciled published article count from {} to {}", previousTotal, publishedTotal);
+        }
+        loaded = true;
+        return true;
+    }
+
+    // By identity: two reloads' logs can have equal contents
+    private synchronized void forget(List<ArticleChangedEvent> changes) {
+        reloadLogs.removeIf(pending -> pending == changes);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private void adjust(Long categoryId, long delta) {
+        publishedTotal = Math.max(0, publishedTotal + delta);
+        if (categoryId != null) {
+            publishedByCategory.put(categoryId, Math.max(0, publishedByCategory.getOrDefault(categoryId, 0L) + delta));
+        }
+    }
+}
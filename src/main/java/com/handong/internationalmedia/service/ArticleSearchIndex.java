@@ -0,0 +1,333 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over published articles, ranked with BM25.
+ * Title and summary terms are weighted above body terms. A rebuild loads into fresh maps
+ * and swaps them in whole; changes that land while it is loading are logged and replayed
+ * after the swap, so searches never see a half-built index.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_CACHED_QUERIES = 1000;
+
+    private final ArticleRepository articleRepository;
+    private final long resultTtlMillis;
+    private final Map<String, CachedResult> resultCache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+    // Latest terms per article for each rebuild still loading; null terms are a removal
+    private final List<Map<Long, Map<String, Integer>>> rebuildLogs = new ArrayList<>();
+
+    public ArticleSearchIndex(ArticleRepository articleRepository,
+                              @Value("${app.search.result-ttl-ms:30000}") long resultTtlMillis) {
+        this.articleRepository = articleRepository;
+        this.resultTtlMillis = resultTtlMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Map<String, Integer>> changes = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            rebuildLogs.add(changes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuild(changes);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildLogs.removeIf(pending -> pending == changes);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void rebuild(Map<Long, Map<String, Integer>> changes) {
+        Map<String, Map<Long, Integer>> nextPostings = new HashMap<>();
+        Map<Long, Map<String, Integer>> nextDocuments = new HashMap<>();
+        Map<Long, Integer> nextLengths = new HashMap<>();
+        long nextTotalLength = 0;
+        List<Article> batch;
+        long lastId = 0;
+        do {
+            batch = articleRepository.findByIsPublishedTrueAndIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Article article : batch) {
+                Map<String, Integer> terms = termFrequencies(article);
+                int length = 0;
+                for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                    nextPostings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(article.getId(), term.getValue());
+                    length += term.getValue();
+                }
+                nextDocuments.put(article.getId(), terms);
+                nextLengths.put(article.getId(), length);
+                nextTotalLength += length;
+                lastId = article.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            invalidateResults();
+            postings = nextPostings;
+            documents = nextDocuments;
+            documentLengths = nextLengths;
+            totalLength = nextTotalLength;
+            // The batches may predate these writes; the logged state is newer
+            changes.forEach((id, terms) -> {
+                if (terms == null) {
+                    removeLocked(id);
+                } else {
+                    putLocked(id, terms);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} articles", nextDocuments.size());
+    }
+
+    /**
+     * Indexes the article once the surrounding transaction commits, or immediately
+     * when no transaction is active.
+     */
+    public void indexAfterCommit(Article article) {
+        Long id = article.getId();
+        boolean published = Boolean.TRUE.equals(article.getIsPublished());
+        Map<String, Integer> terms = published ? termFrequencies(article) : Map.of();
+        runAfterCommit(() -> {
+            if (published) {
+                put(id, terms);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    public void removeAfterCommit(Long articleId) {
+        runAfterCommit(() -> remove(articleId));
+    }
+
+    public void index(Article article) {
+        if (Boolean.TRUE.equals(article.getIsPublished())) {
+            put(article.getId(), termFrequencies(article));
+        } else {
+            remove(article.getId());
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            invalidateResults();
+            rebuildLogs.forEach(changes -> changes.put(articleId, null));
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of the articles that contain every query term, best match first.
+     */
+    public List<Long> search(String query) {
+        Set<String> terms = new TreeSet<>(SearchTokenizer.tokenizeQuery(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        // Paging through the same query re-ranks nothing and needs no COUNT
+        String key = String.join(" ", terms);
+        long now = System.currentTimeMillis();
+        CachedResult cached = resultCache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.ids;
+        }
+
+        long generationBefore = generation.get();
+        List<Long> ids = rank(terms);
+        if (resultCache.size() >= MAX_CACHED_QUERIES) {
+            resultCache.clear();
+        }
+        // Skip caching when the index changed while ranking
+        if (generation.get() == generationBefore) {
+            resultCache.put(key, new CachedResult(ids, now + resultTtlMillis));
+        }
+        return ids;
+    }
+
+    private List<Long> rank(Set<String> terms) {
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    return List.of();
+                }
+                termPostings.add(docs);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = documentLengths.size();
+            double averageLength = documentCount == 0 ? 1.0 : (double) totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long id : termPostings.get(0).keySet()) {
+                double score = 0;
+                boolean matchesAll = true;
+                for (Map<Long, Integer> docs : termPostings) {
+                    Integer tf = docs.get(id);
+                    if (tf == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                    double norm = K1 * (1 - B + B * documentLengths.get(id) / averageLength);
+                    score += idf * (tf * (K1 + 1)) / (tf + norm);
+                }
+                if (matchesAll) {
+                    scores.put(id, score);
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(scores.keySet());
+            ids.sort(Comparator.<Long>comparingDouble(scores::get).reversed().thenComparing(Comparator.reverseOrder()));
+            return List.copyOf(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long id, Map<String, Integer> terms) {
+        lock.writeLock().lock();
+        try {
+            invalidateResults();
+            rebuildLogs.forEach(changes -> changes.put(id, terms));
+            putLocked(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long id, Map<String, Integer> terms) {
+        removeLocked(id);
+        int length = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(id, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(id, terms);
+        documentLengths.put(id, length);
+        totalLength += length;
+    }
+
+    private void invalidateResults() {
+        generation.incrementAndGet();
+        resultCache.clear();
+    }
+
+    private void removeLocked(Long id) {
+        Map<String, Integer> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = documentLengths.remove(id);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    static Map<String, Integer> termFrequencies(Article article) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, article.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, article.getSummary(), SUMMARY_WEIGHT);
+        addTerms(terms, article.getContent(), BODY_WEIGHT);
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class CachedResult {
+        private final List<Long> ids;
+        private final long expiresAt;
+
+        private CachedResult(List<Long> ids, long expiresAt) {
+            this.ids = ids;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
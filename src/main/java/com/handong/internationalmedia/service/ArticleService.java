@@ -1,77 +1,201 @@
 package com.handong.internationalmedia.service;
 
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.dto.CursorPageDto;
 import com.handong.internationalmedia.entity.Article;
 import com.handong.internationalmedia.entity.Category;
 import com.handong.internationalmedia.entity.User;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
 import com.handong.internationalmedia.repository.ArticleRepository;
-import com.handong.internationalmedia.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("him.service")
 public class ArticleService {
     
+    private static final int MAX_FEED_SIZE = 50;
+    
     private final ArticleRepository articleRepository;
-    private final CategoryRepository categoryRepository;
-    private final CloudinaryService cloudinaryService;
+    private final CategoryRegistry categoryRegistry;
+    private final ImageService imageService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleCountProvider articleCountProvider;
+    private final PopularArticles popularArticles;
+    private final TrendingArticles trendingArticles;
+    private final RelatedArticles relatedArticles;
+    private final ImageUploadOutbox imageUploadOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public Page<ArticleSummaryDto> getAllPublishedArticles(Pageable pageable) {
+        return new PageImpl<>(articleRepository.findPublishedSummaries(pageable), pageable,
+                articleCountProvider.getPublishedCount());
+    }
+    
+    public Page<ArticleSummaryDto> getArticlesByCategory(String categoryName, Pageable pageable) {
+        return categoryRegistry.findIdByName(categoryName)
+                .<Page<ArticleSummaryDto>>map(categoryId -> new PageImpl<>(
+                        articleRepository.findPublishedSummariesByCategoryId(categoryId, pageable), pageable,
+                        articleCountProvider.getPublishedCount(categoryId)))
+                .orElseGet(() -> Page.empty(pageable));
+    }
     
-    public Page<Article> getAllPublishedArticles(Pageable pageable) {
-        return articleRepository.findByIsPublishedTrueOrderByPublishedAtDesc(pageable);
+    /**
+     * One slice of the published feed; {@code size} is clamped to 1..{@value #MAX_FEED_SIZE}.
+     */
+    public CursorPageDto<ArticleSummaryDto> getPublishedFeed(String cursor, int requestedSize) {
+        int size = clampFeedSize(requestedSize);
+        Pageable window = Pageable.ofSize(size + 1);
+        List<ArticleSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = articleRepository.findFeedHead(window);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = articleRepository.findFeedAfter(position.getPublishedAt(), position.getId(), window);
+        }
+        return toCursorPage(rows, size);
+    }
+    
+    public CursorPageDto<ArticleSummaryDto> getCategoryFeed(String categoryName, String cursor, int requestedSize) {
+        int size = clampFeedSize(requestedSize);
+        Optional<Long> categoryId = categoryRegistry.findIdByName(categoryName);
+        if (categoryId.isEmpty()) {
+            return new CursorPageDto<>(List.of(), size, false, null);
+        }
+        
+        Pageable window = Pageable.ofSize(size + 1);
+        List<ArticleSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = articleRepository.findCategoryFeedHead(categoryId.get(), window);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = articleRepository.findCategoryFeedAfter(categoryId.get(), position.getPublishedAt(), position.getId(), window);
+        }
+        return toCursorPage(rows, size);
     }
     
-    public Page<Article> getArticlesByCategory(String categoryName, Pageable pageable) {
-        return articleRepository.findByCategoryNameAndIsPublishedTrue(categoryName, pageable);
+    /**
+     * Last modification time of the article without loading the row, for conditional GETs.
+     */
+    public Optional<LocalDateTime> getArticleLastModified(Long id) {
+        return articleRepository.findLastModifiedById(id);
     }
     
     public Optional<Article> getArticleById(Long id) {
-        return articleRepository.findById(id);
+        return articleRepository.findWithAuthorAndCategoryById(id);
+    }
+    
+    public List<ArticleSummaryDto> getFeaturedArticles(int limit) {
+        return articleRepository.findFeaturedSummaries(Pageable.ofSize(limit));
     }
     
-    public List<Article> getFeaturedArticles() {
-        return articleRepository.findByIsFeaturedTrueAndIsPublishedTrueOrderByPublishedAtDesc();
+    public Page<ArticleSummaryDto> searchArticles(String keyword, Pageable pageable) {
+        if (keyword == null || keyword.isBlank()) {
+            return getAllPublishedArticles(pageable);
+        }
+
+        List<Long> rankedIds = articleSearchIndex.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+
+        return new PageImpl<>(findSummariesInOrder(pageIds), pageable, rankedIds.size());
     }
     
-    public Page<Article> searchArticles(String keyword, Pageable pageable) {
-        return articleRepository.searchByKeyword(keyword, pageable);
+    public List<ArticleSummaryDto> getLatestArticles(int limit) {
+        return articleRepository.findLatestSummaries(Pageable.ofSize(limit));
     }
     
-    public List<Article> getLatestArticles(int limit) {
-        return articleRepository.findLatestArticles(Pageable.ofSize(limit));
+    /**
+     * Most viewed published articles, served from the in-memory ranking. K is capped at
+     * {@code app.popular.capacity}; a blank category name means all categories.
+     */
+    public List<ArticleSummaryDto> getPopularArticles(int k, String categoryName) {
+        int limit = Math.max(1, Math.min(k, popularArticles.getCapacity()));
+        if (categoryName == null || categoryName.isBlank()) {
+            return findSummariesInOrder(popularArticles.top(limit, null));
+        }
+        return categoryRegistry.findIdByName(categoryName)
+                .map(categoryId -> findSummariesInOrder(popularArticles.top(limit, categoryId)))
+                .orElseGet(List::of);
     }
     
-    public List<Article> getPopularArticles() {
-        return articleRepository.findTop10ByIsPublishedTrueOrderByViewCountDesc();
+    /**
+     * Precomputed neighbors of the article by content and category; no query involved.
+     */
+    public List<ArticleSummaryDto> getRelatedArticles(Long articleId, int limit) {
+        return relatedArticles.getRelated(articleId, limit);
+    }
+    
+    /**
+     * Articles with the most recent, time-decayed views, from the last trending tick.
+     */
+    public List<ArticleSummaryDto> getTrendingArticles(String categoryName) {
+        if (categoryName == null || categoryName.isBlank()) {
+            return trendingArticles.getTrending(null);
+        }
+        return categoryRegistry.findIdByName(categoryName)
+                .map(trendingArticles::getTrending)
+                .orElseGet(List::of);
     }
     
     @Transactional
     public Article saveArticle(Article article, User author) {
         article.setAuthor(author);
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        articleSearchIndex.indexAfterCommit(saved);
+        relatedArticles.indexAfterCommit(saved);
+        publishCreated(saved);
+        return saved;
     }
     
+    /**
+     * Saves the article right away; a supplied image is uploaded afterwards by the
+     * {@link ImageUploadOutbox} and the article reports {@code imagePending} until then.
+     */
     @Transactional
     public Article saveArticleWithImage(Article article, MultipartFile image, User author) {
         article.setAuthor(author);
-        if (image != null && !image.isEmpty()) {
-            String imageUrl = cloudinaryService.uploadImage(image);
-            article.setFeaturedImage(imageUrl);
+        boolean hasImage = image != null && !image.isEmpty();
+        article.setImagePending(hasImage);
+        Article saved = articleRepository.save(article);
+        if (hasImage) {
+            imageUploadOutbox.enqueue(saved.getId(), image);
         }
-        return articleRepository.save(article);
+        articleSearchIndex.indexAfterCommit(saved);
+        relatedArticles.indexAfterCommit(saved);
+        publishCreated(saved);
+        return saved;
     }
     
     @Transactional
     public Article updateArticleWithImage(Long id, Article updatedArticle, MultipartFile image) {
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findWithAuthorAndCategoryById(id)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
+        Long previousCategoryId = categoryIdOf(article);
+        boolean previouslyPublished = Boolean.TRUE.equals(article.getIsPublished());
         
         article.setTitle(updatedArticle.getTitle());
         article.setContent(updatedArticle.getContent());
@@ -80,26 +204,29 @@ public class ArticleService {
         article.setIsPublished(updatedArticle.getIsPublished());
         article.setIsFeatured(updatedArticle.getIsFeatured());
         
-        if (image != null && !image.isEmpty()) {
-            if (article.getFeaturedImage() != null) {
-                cloudinaryService.deleteImage(article.getFeaturedImage());
-            }
-            String imageUrl = cloudinaryService.uploadImage(image);
-            article.setFeaturedImage(imageUrl);
+        // The current image stays until the replacement upload completes
+        boolean hasImage = image != null && !image.isEmpty();
+        if (hasImage) {
+            article.setImagePending(true);
         }
         
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        if (hasImage) {
+            imageUploadOutbox.enqueue(saved.getId(), image);
+        }
+        articleSearchIndex.indexAfterCommit(saved);
+        relatedArticles.indexAfterCommit(saved);
+        eventPublisher.publishEvent(new ArticleChangedEvent(saved.getId(), ArticleChangedEvent.Type.UPDATED,
+                previousCategoryId, categoryIdOf(saved),
+                previouslyPublished, Boolean.TRUE.equals(saved.getIsPublished())));
+        return saved;
     }
     
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void incrementViewCount(Long articleId) {
-        Optional<Article> articleOpt = articleRepository.findById(articleId);
-        if (articleOpt.isPresent()) {
-            Article article = articleOpt.get();
-            Long currentViewCount = article.getViewCount();
-            article.setViewCount((currentViewCount != null ? currentViewCount : 0L) + 1);
-            articleRepository.save(article);
-        }
+        viewCountBuffer.record(articleId);
+        popularArticles.recordView(articleId);
+        trendingArticles.recordView(articleId);
     }
     
     @Transactional
@@ -108,17 +235,65 @@ public class ArticleService {
                 .orElseThrow(() -> new RuntimeException("Article not found"));
         
         if (article.getFeaturedImage() != null) {
-            cloudinaryService.deleteImage(article.getFeaturedImage());
+            imageService.deleteImage(article.getFeaturedImage());
         }
         
         articleRepository.deleteById(id);
+        viewCountBuffer.forget(id);
+        articleSearchIndex.removeAfterCommit(id);
+        relatedArticles.removeAfterCommit(id);
+        eventPublisher.publishEvent(new ArticleChangedEvent(id, ArticleChangedEvent.Type.DELETED,
+                categoryIdOf(article), null, Boolean.TRUE.equals(article.getIsPublished()), false));
     }
     
-    public List<Category> getAllActiveCategories() {
-        return categoryRepository.findByIsActiveTrueOrderByDisplayOrderAsc();
+    public List<CategoryRegistry.CategoryView> getAllActiveCategories() {
+        return categoryRegistry.getActiveCategories();
+    }
+    
+    public Optional<CategoryRegistry.CategoryView> getCategoryByName(String name) {
+        return categoryRegistry.findByName(name);
+    }
+    
+    /**
+     * A fresh detached entity to assign to an article being saved.
+     */
+    public Optional<Category> getCategoryForAssignment(String name) {
+        return categoryRegistry.newDetachedByName(name);
+    }
+    
+    private static int clampFeedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
+    }
+    
+    private static CursorPageDto<ArticleSummaryDto> toCursorPage(List<ArticleSummaryDto> rows, int size) {
+        // One extra row is fetched to learn whether another slice exists without a COUNT
+        boolean hasNext = rows.size() > size;
+        List<ArticleSummaryDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = FeedCursor.after(content.get(content.size() - 1));
+        }
+        return new CursorPageDto<>(List.copyOf(content), size, hasNext, nextCursor);
+    }
+    
+    private void publishCreated(Article article) {
+        eventPublisher.publishEvent(new ArticleChangedEvent(article.getId(), ArticleChangedEvent.Type.CREATED,
+                null, categoryIdOf(article), false, Boolean.TRUE.equals(article.getIsPublished())));
+    }
+    
+    private List<ArticleSummaryDto> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleSummaryDto> byId = articleRepository.findPublishedSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
     
-    public Optional<Category> getCategoryByName(String name) {
-        return categoryRepository.findByName(name);
+    private static Long categoryIdOf(Article article) {
+        return article.getCategory() != null ? article.getCategory().getId() : null;
     }
 }
\ No newline at end of file
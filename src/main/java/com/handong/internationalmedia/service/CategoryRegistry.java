@@ -0,0 +1,144 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Category;
+import com.handong.internationalmedia.event.CategoryChangedEvent;
+import com.handong.internationalmedia.repository.CategoryRepository;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned in-memory copy of the categories table. Categories are loaded once,
+ * served from immutable maps and reloaded lazily after any category write. Callers get
+ * immutable {@link CategoryView}s shared by every request, never the JPA entities.
+ */
+@Component
+public class CategoryRegistry {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot current;
+    private long version;
+
+    public CategoryRegistry(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public List<CategoryView> getActiveCategories() {
+        return snapshot().active;
+    }
+
+    public Optional<CategoryView> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    /**
+     * Case-insensitive lookup by category name.
+     */
+    public Optional<CategoryView> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot().byName.get(normalize(name)));
+    }
+
+    public Optional<Long> findIdByName(String name) {
+        return findByName(name).map(CategoryView::getId);
+    }
+
+    /**
+     * A new detached {@link Category} for assigning to an article, so writes need no
+     * category query. Each call returns its own instance; {@code articles} is not loaded.
+     */
+    public Optional<Category> newDetachedByName(String name) {
+        return findByName(name).map(view -> Category.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .displayOrder(view.getDisplayOrder())
+                .isActive(view.getIsActive())
+                .build());
+    }
+
+    /**
+     * Incremented on every category write; usable as a cache key or validator.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    public synchronized void invalidate() {
+        version++;
+        current = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long loadedVersion = getVersion();
+        snapshot = new Snapshot(categoryRepository.findAll());
+        synchronized (this) {
+            // A write that raced with the load bumped the version; keep serving but don't cache
+            if (version == loadedVersion) {
+                current = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @Builder
+    public static class CategoryView {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Integer displayOrder;
+        private final Boolean isActive;
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, CategoryView> byId;
+        private final Map<String, CategoryView> byName;
+        private final List<CategoryView> active;
+
+        private Snapshot(List<Category> categories) {
+            Map<Long, CategoryView> ids = new HashMap<>();
+            Map<String, CategoryView> names = new HashMap<>();
+            for (Category category : categories) {
+                CategoryView view = CategoryView.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .description(category.getDescription())
+                        .displayOrder(category.getDisplayOrder())
+                        .isActive(category.getIsActive())
+                        .build();
+                ids.put(view.getId(), view);
+                names.put(normalize(view.getName()), view);
+            }
+            this.byId = Map.copyOf(ids);
+            this.byName = Map.copyOf(names);
+            this.active = ids.values().stream()
+                    .filter(category -> Boolean.TRUE.equals(category.getIsActive()))
+                    .sorted(Comparator.comparing(CategoryView::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+}
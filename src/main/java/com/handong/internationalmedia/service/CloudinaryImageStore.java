@@ -0,0 +1,108 @@
+package com.handong.internationalmedia.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores images on Cloudinary under {@code him-articles/<sha256>}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.image-store.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+
+    private static final String FOLDER = "him-articles";
+    private static final int BULK_DELETE_LIMIT = 100;
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String put(String contentHash, File file, String originalFilename) throws IOException {
+        if (cloudinary == null) {
+            log.warn("Cloudinary not configured, skipping image upload");
+            return null; // 이미지 업로드 없이 진행
+        }
+
+        Map uploadResult = cloudinary.uploader().upload(file,
+                ObjectUtils.asMap(
+                        "public_id", contentHash,
+                        "folder", FOLDER,
+                        "resource_type", "image",
+                        "overwrite", false
+                ));
+
+        String imageUrl = (String) uploadResult.get("secure_url");
+        log.info("Image uploaded successfully: {}", imageUrl);
+        return imageUrl;
+    }
+
+    @Override
+    public void delete(String imageUrl) throws IOException {
+        if (cloudinary == null) {
+            return;
+        }
+        String publicId = extractPublicId(imageUrl);
+        if (publicId.isEmpty()) {
+            return;
+        }
+        cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+        log.info("Image deleted successfully: {}", publicId);
+    }
+
+    /**
+     * Uses the Admin API bulk delete, up to {@link #BULK_DELETE_LIMIT} public ids per call.
+     */
+    @Override
+    public void deleteAll(List<String> imageUrls) throws IOException {
+        if (cloudinary == null) {
+            return;
+        }
+        List<String> publicIds = imageUrls.stream()
+                .map(this::extractPublicId)
+                .filter(publicId -> !publicId.isEmpty())
+                .distinct()
+                .toList();
+        for (int from = 0; from < publicIds.size(); from += BULK_DELETE_LIMIT) {
+            List<String> chunk = publicIds.subList(from, Math.min(publicIds.size(), from + BULK_DELETE_LIMIT));
+            Map result;
+            try {
+                result = cloudinary.api().deleteResources(chunk, ObjectUtils.emptyMap());
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Bulk image delete failed", e);
+            }
+            Object deleted = result.get("deleted");
+            if (deleted instanceof Map<?, ?> outcomes) {
+                for (String publicId : chunk) {
+                    Object outcome = outcomes.get(publicId);
+                    if (!"deleted".equals(outcome) && !"not_found".equals(outcome)) {
+                        throw new IOException("Image " + publicId + " was not deleted: " + outcome);
+                    }
+                }
+            }
+            log.info("Deleted {} images", chunk.size());
+        }
+    }
+
+    private String extractPublicId(String imageUrl) {
+        int startIndex = imageUrl.indexOf(FOLDER + "/");
+        int endIndex = imageUrl.lastIndexOf(".");
+        if (startIndex != -1 && endIndex > startIndex) {
+            return imageUrl.substring(startIndex, endIndex);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,68 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.event.CategoryChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap validators for conditional GETs. Collection versions are bumped after every
+ * committed article or category write and are prefixed with a per-boot id, so tags
+ * issued before a restart never match.
+ */
+@Component
+public class ContentVersions {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong articlesVersion = new AtomicLong();
+    private final CategoryRegistry categoryRegistry;
+
+    private volatile long articlesLastModified = System.currentTimeMillis();
+    private volatile long categoriesLastModified = System.currentTimeMillis();
+
+    public ContentVersions(CategoryRegistry categoryRegistry) {
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        articlesVersion.incrementAndGet();
+        articlesLastModified = System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoriesLastModified = System.currentTimeMillis();
+        // Category names appear in article rows as well
+        articlesVersion.incrementAndGet();
+        articlesLastModified = categoriesLastModified;
+    }
+
+    public String articlesEtag(String qualifier) {
+        return "articles-" + bootId + "-" + articlesVersion.get() + "-" + qualifier;
+    }
+
+    public long getArticlesLastModified() {
+        return articlesLastModified;
+    }
+
+    public String categoriesEtag(String qualifier) {
+        return "categories-" + bootId + "-" + categoryRegistry.getVersion() + "-" + qualifier;
+    }
+
+    public long getCategoriesLastModified() {
+        return categoriesLastModified;
+    }
+
+    public static String articleEtag(Long id, LocalDateTime updatedAt) {
+        return "article-" + id + "-" + toEpochMillis(updatedAt);
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,116 @@
+package com.handong.internationalmedia.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that pulls one record at a time from a character stream, so a
+ * large upload is never held in memory. Handles quoted fields with embedded commas,
+ * doubled quotes and line breaks, CRLF or LF endings and a leading byte order mark.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private int peeked = -2;
+    private boolean started;
+    private int line = 1;
+    private int recordLine;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record's fields, or null at the end of input. Blank lines are skipped;
+     * a quoted field left open at the end of input is an {@link IllegalArgumentException}.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            if (peek() == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = readRecord();
+            if (fields.size() > 1 || !fields.get(0).isBlank()) {
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started, 1-based.
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException(recordLine + "행에서 시작한 따옴표가 닫히지 않았습니다.");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+            if (!started) {
+                started = true;
+                if (peeked == '\uFEFF') {
+                    peeked = reader.read();
+                }
+            }
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        if (c == '\n') {
+            line++;
+        } else if (c == '\r' && peek() != '\n') {
+            line++;
+        }
+        return c;
+    }
+}
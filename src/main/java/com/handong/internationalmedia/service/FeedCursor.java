@@ -0,0 +1,54 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a feed ordered by {@code (published_at DESC, id DESC)}, encoded as an
+ * opaque URL-safe token.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FeedCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime publishedAt;
+    private final Long id;
+
+    /**
+     * Token for the slice that follows {@code last}, or null when the row has no publish
+     * date to seek on.
+     */
+    public static String after(ArticleSummaryDto last) {
+        if (last.getPublishedAt() == null) {
+            return null;
+        }
+        return new FeedCursor(last.getPublishedAt(), last.getId()).encode();
+    }
+
+    public String encode() {
+        String raw = publishedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.event.CategoryChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import com.handong.internationalmedia.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a precomputed {@link FrontPageSnapshot} so the home page and the featured
+ * API are served without touching the database. Any article or category change
+ * queues a background rebuild; bursts of changes collapse into a single rebuild.
+ */
+@Slf4j
+@Service
+public class FrontPageService {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int featuredLimit;
+    private final int latestLimit;
+
+    private final AtomicReference<FrontPageSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    // Not a monitor: a virtual thread blocked in JDBC under synchronized would pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "front-page-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FrontPageService(ArticleRepository articleRepository,
+                            CategoryRepository categoryRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.front-page.featured-limit:5}") int featuredLimit,
+                            @Value("${app.front-page.latest-limit:10}") int latestLimit) {
+        this.articleRepository = articleRepository;
+        this.categoryRepository = categoryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.featuredLimit = featuredLimit;
+        this.latestLimit = latestLimit;
+    }
+
+    public FrontPageSnapshot getSnapshot() {
+        FrontPageSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            rebuild();
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        requestRebuild();
+    }
+
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                // Cleared before building so changes that land mid-rebuild queue another pass
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Failed to rebuild front page snapshot", e);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        rebuildLock.lock();
+        try {
+            FrontPageSnapshot snapshot = readOnlyTransaction.execute(status -> new FrontPageSnapshot(
+                    articleRepository.findFeaturedSummaries(Pageable.ofSize(featuredLimit)),
+                    categoryRepository.findByIsActiveTrueOrderByDisplayOrderAsc().stream()
+                            .map(category -> FrontPageSnapshot.CategoryItem.builder()
+                                    .id(category.getId())
+                                    .name(category.getName())
+                                    .description(category.getDescription())
+                                    .displayOrder(category.getDisplayOrder())
+                                    .build())
+                            .collect(Collectors.toList()),
+                    articleRepository.findLatestSummaries(Pageable.ofSize(latestLimit))));
+            current.set(snapshot);
+            log.debug("Front page snapshot rebuilt at {}", snapshot.getBuiltAt());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
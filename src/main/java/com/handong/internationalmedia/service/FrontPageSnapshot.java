@@ -0,0 +1,38 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable view of everything the front page renders. Built off the request path
+ * by {@link FrontPageService} and replaced as a whole when content changes.
+ */
+@Getter
+public class FrontPageSnapshot {
+
+    private final List<ArticleSummaryDto> featuredArticles;
+    private final List<CategoryItem> categories;
+    private final List<ArticleSummaryDto> latestArticles;
+    private final LocalDateTime builtAt;
+
+    public FrontPageSnapshot(List<ArticleSummaryDto> featuredArticles, List<CategoryItem> categories,
+                             List<ArticleSummaryDto> latestArticles) {
+        this.featuredArticles = List.copyOf(featuredArticles);
+        this.categories = List.copyOf(categories);
+        this.latestArticles = List.copyOf(latestArticles);
+        this.builtAt = LocalDateTime.now();
+    }
+
+    @Getter
+    @Builder
+    public static class CategoryItem {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Integer displayOrder;
+    }
+}
@@ -0,0 +1,203 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.ImageDeleteTask;
+import com.handong.internationalmedia.repository.ImageBlobRepository;
+import com.handong.internationalmedia.repository.ImageDeleteTaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable queue of images to remove from the image store. {@link #enqueue} only inserts a
+ * row in the caller's transaction, so deleting or re-imaging an article never waits on the
+ * image host; a scheduled worker drains the queue in batches through
+ * {@link ImageStore#deleteAll}, retrying with exponential backoff. Rows that run out of
+ * attempts are kept as {@code FAILED} and can be listed and requeued.
+ */
+@Slf4j
+@Service
+public class ImageDeleteQueue {
+
+    private final ImageDeleteTaskRepository taskRepository;
+    private final ImageBlobRepository blobRepository;
+    private final ImageStore imageStore;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    public ImageDeleteQueue(ImageDeleteTaskRepository taskRepository,
+                            ImageBlobRepository blobRepository,
+                            ImageStore imageStore,
+                            MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.image-delete.batch-size:100}") int batchSize,
+                            @Value("${app.image-delete.max-attempts:8}") int maxAttempts,
+                            @Value("${app.image-delete.backoff-ms:5000}") long backoffMillis,
+                            @Value("${app.image-delete.max-backoff-ms:3600000}") long maxBackoffMillis) {
+        this.taskRepository = taskRepository;
+        this.blobRepository = blobRepository;
+        this.imageStore = imageStore;
+        this.meterRegistry = meterRegistry;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Records the image for deletion. Call inside the transaction that orphaned it so the
+     * request is dropped if that transaction rolls back.
+     */
+    public void enqueue(String imageUrl) {
+        taskRepository.save(ImageDeleteTask.builder()
+                .imageUrl(imageUrl)
+                .status(ImageDeleteTask.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterrupted() {
+        Integer reset = transaction.execute(status -> taskRepository.transitionAll(
+                ImageDeleteTask.Status.IN_PROGRESS, ImageDeleteTask.Status.PENDING));
+        if (reset != null && reset > 0) {
+            log.info("Requeued {} image deletions interrupted by the last shutdown", reset);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.image-delete.poll-interval-ms:5000}")
+    public void drain() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            // Keep going while batches come back full so a bulk delete clears in one run
+            while (drainBatch() == batchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    public List<ImageDeleteTask> getFailed(int limit) {
+        return taskRepository.findByStatusOrderByUpdatedAtDesc(ImageDeleteTask.Status.FAILED,
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * Moves a dead-lettered deletion back into the queue with a fresh retry budget.
+     */
+    public boolean retry(Long taskId) {
+        Integer requeued = transaction.execute(status -> taskRepository.requeue(taskId,
+                ImageDeleteTask.Status.FAILED, ImageDeleteTask.Status.PENDING, LocalDateTime.now()));
+        return requeued != null && requeued > 0;
+    }
+
+    private int drainBatch() {
+        List<ImageDeleteTask> claimed = transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> due = taskRepository.findDueIds(ImageDeleteTask.Status.PENDING, now,
+                    PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            taskRepository.transition(due, ImageDeleteTask.Status.PENDING, ImageDeleteTask.Status.IN_PROGRESS, now);
+            return taskRepository.findByIdInAndStatus(due, ImageDeleteTask.Status.IN_PROGRESS);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<String> urls = claimed.stream().map(ImageDeleteTask::getImageUrl).distinct().toList();
+        List<Long> ids = claimed.stream().map(ImageDeleteTask::getId).toList();
+        List<String> deleted;
+        try {
+            deleted = transaction.execute(status -> deleteUnreferenced(urls, ids));
+        } catch (UncheckedIOException e) {
+            fail(ids, e.getCause());
+            return claimed.size();
+        } catch (RuntimeException e) {
+            fail(ids, e);
+            return claimed.size();
+        }
+        log.debug("Deleted {} queued images", deleted == null ? 0 : deleted.size());
+        return claimed.size();
+    }
+
+    /**
+     * Drops the blob rows that are still unreferenced and deletes their images in the same
+     * transaction. An upload of identical content waits on the row locks until the images
+     * are gone and then stores the bytes again; rows it referenced first are kept.
+     */
+    private List<String> deleteUnreferenced(List<String> urls, List<Long> ids) {
+        blobRepository.deleteUnreferencedByUrlIn(urls);
+        Set<String> owned = new HashSet<>(blobRepository.findUrlsByUrlIn(urls));
+        List<String> unowned = urls.stream().filter(url -> !owned.contains(url)).toList();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (!unowned.isEmpty()) {
+                imageStore.deleteAll(unowned);
+            }
+        } catch (IOException | RuntimeException e) {
+            sample.stop(meterRegistry.timer("him.image.store.delete", "outcome", "failed"));
+            meterRegistry.counter("him.image.store.deleted", "outcome", "failed").increment(unowned.size());
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+        sample.stop(meterRegistry.timer("him.image.store.delete", "outcome", "success"));
+        meterRegistry.counter("him.image.store.deleted", "outcome", "success").increment(unowned.size());
+        taskRepository.deleteAllByIdInBatch(ids);
+        return unowned;
+    }
+
+    private void fail(List<Long> ids, Throwable error) {
+        transaction.executeWithoutResult(status -> {
+            for (ImageDeleteTask task : taskRepository.findAllById(ids)) {
+                int attempts = task.getAttempts() + 1;
+                task.setAttempts(attempts);
+                task.setLastError(truncate(error.getMessage()));
+                if (attempts >= maxAttempts) {
+                    task.setStatus(ImageDeleteTask.Status.FAILED);
+                    log.error("Giving up on deleting image {} after {} attempts", task.getImageUrl(), attempts);
+                    continue;
+                }
+                long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempts - 1, 20));
+                task.setStatus(ImageDeleteTask.Status.PENDING);
+                task.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+            }
+        });
+        log.warn("Failed to delete a batch of {} images, will retry", ids.size(), error);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
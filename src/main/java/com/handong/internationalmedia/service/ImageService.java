@@ -0,0 +1,190 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.ImageBlob;
+import com.handong.internationalmedia.repository.ImageBlobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplicating front for the configured {@link ImageStore}. Uploads are hashed with
+ * SHA-256 first; content that is already stored only gains a reference and never goes
+ * over the network again. {@link #deleteImage} drops one reference and hands the blob to
+ * the {@link ImageDeleteQueue} once nothing points at it.
+ */
+@Slf4j
+@Service
+public class ImageService {
+
+    private final ImageStore imageStore;
+    private final ImageBlobRepository blobRepository;
+    private final ImageDeleteQueue imageDeleteQueue;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    private final Semaphore uploadPermits;
+    private final long acquireTimeoutMillis;
+
+    public ImageService(ImageStore imageStore,
+                        ImageBlobRepository blobRepository,
+                        ImageDeleteQueue imageDeleteQueue,
+                        MeterRegistry meterRegistry,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.image-upload.max-concurrent:4}") int maxConcurrentUploads,
+                        @Value("${app.image-upload.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this.imageStore = imageStore;
+        this.blobRepository = blobRepository;
+        this.imageDeleteQueue = imageDeleteQueue;
+        this.meterRegistry = meterRegistry;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.uploadPermits = new Semaphore(maxConcurrentUploads);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Stores a spooled file, or takes another reference to identical content stored
+     * earlier. At most {@code app.image-upload.max-concurrent} uploads run at once.
+     */
+    public String uploadImage(File file, String originalFilename) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            String hash = sha256(file.toPath());
+            Optional<String> existing = reference(hash);
+            if (existing.isPresent()) {
+                log.info("Image already stored, reusing {}", existing.get());
+                outcome = "deduplicated";
+                return existing.get();
+            }
+
+            try {
+                if (!uploadPermits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException("Too many concurrent image uploads");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to upload image", e);
+            }
+            String imageUrl;
+            try {
+                imageUrl = imageStore.put(hash, file, originalFilename);
+            } catch (IOException e) {
+                log.error("Failed to upload image", e);
+                throw new RuntimeException("Failed to upload image", e);
+            } finally {
+                uploadPermits.release();
+            }
+            if (imageUrl == null) {
+                outcome = "skipped";
+                return null; // 이미지 업로드 없이 진행
+            }
+            String recorded = record(hash, imageUrl, file.length());
+            outcome = "uploaded";
+            return recorded;
+        } finally {
+            sample.stop(Timer.builder("him.image.upload")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            DistributionSummary.builder("him.image.upload.size")
+                    .baseUnit("bytes")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(file.length());
+        }
+    }
+
+    /**
+     * Releases one reference to the image. Once nothing else uses it, the blob is queued
+     * for deletion in the same transaction; the image host is never called from here.
+     * The row stays at zero references until the queue deletes the image, so an upload of
+     * the same content in the meantime takes it back instead of racing the delete.
+     */
+    public void deleteImage(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return;
+        }
+        Boolean queued = transaction.execute(status -> {
+            Optional<ImageBlob> blob = blobRepository.findByUrl(imageUrl);
+            if (blob.isPresent()) {
+                String hash = blob.get().getHash();
+                // Already at zero means the deletion is queued
+                if (blobRepository.releaseReference(hash) == 0) {
+                    return false;
+                }
+                if (blobRepository.findById(hash).map(ImageBlob::getReferenceCount).orElse(0) > 0) {
+                    return false;
+                }
+            }
+            // Blobs uploaded before references were tracked are never shared
+            imageDeleteQueue.enqueue(imageUrl);
+            return true;
+        });
+        meterRegistry.counter("him.image.delete", "outcome", Boolean.TRUE.equals(queued) ? "queued" : "released")
+                .increment();
+    }
+
+    /** The local file behind an image URL, when the configured store keeps one. */
+    public Optional<Path> resolveLocal(String imageUrl) {
+        return imageStore.resolveLocal(imageUrl);
+    }
+
+    private Optional<String> reference(String hash) {
+        return Optional.ofNullable(transaction.execute(status -> blobRepository.addReference(hash) > 0
+                ? blobRepository.findById(hash).map(ImageBlob::getUrl).orElse(null)
+                : null));
+    }
+
+    private String record(String hash, String imageUrl, long sizeBytes) {
+        try {
+            newTransaction.executeWithoutResult(status -> blobRepository.saveAndFlush(ImageBlob.builder()
+                    .hash(hash)
+                    .url(imageUrl)
+                    .sizeBytes(sizeBytes)
+                    .referenceCount(1)
+                    .build()));
+            return imageUrl;
+        } catch (DataIntegrityViolationException e) {
+            // The same content finished uploading concurrently; the store put was idempotent
+            return reference(hash).orElseThrow(() -> e);
+        }
+    }
+
+    private static String sha256(Path file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to hash image " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.handong.internationalmedia.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Backend that holds uploaded image bytes. Blobs are addressed by the SHA-256 of their
+ * content, so storing the same hash twice is idempotent; deduplication and reference
+ * counting live in {@link ImageService}. Selected with {@code app.image-store.type}.
+ */
+public interface ImageStore {
+
+    /**
+     * Stores the file under its content hash and returns the public URL, or null when the
+     * store is not configured.
+     */
+    String put(String contentHash, File file, String originalFilename) throws IOException;
+
+    void delete(String imageUrl) throws IOException;
+
+    /**
+     * Deletes several images, in as few remote calls as the backend allows. Deleting an
+     * image that is already gone is not an error.
+     */
+    default void deleteAll(List<String> imageUrls) throws IOException {
+        for (String imageUrl : imageUrls) {
+            delete(imageUrl);
+        }
+    }
+
+    /**
+     * The file behind a URL this store serves from local disk, if any, so readers can skip
+     * an HTTP round trip to ourselves.
+     */
+    default Optional<Path> resolveLocal(String imageUrl) {
+        return Optional.empty();
+    }
+}
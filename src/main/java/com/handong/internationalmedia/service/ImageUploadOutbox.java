@@ -0,0 +1,292 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.entity.ImageUploadTask;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import com.handong.internationalmedia.repository.ImageUploadTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable outbox for featured image uploads. Saving an article only spools the file to
+ * local disk and inserts a task row in the same transaction; a small worker pool uploads
+ * it afterwards, retrying with exponential backoff, and then swaps the article's
+ * {@code featuredImage}. No JDBC connection is held while the image host is called.
+ * The spool directory must outlive the process (a mounted volume in production), since a
+ * task is only as durable as its spooled file; a task whose file is gone fails at once.
+ */
+@Slf4j
+@Service
+public class ImageUploadOutbox {
+
+    private static final List<ImageUploadTask.Status> ACTIVE =
+            List.of(ImageUploadTask.Status.PENDING, ImageUploadTask.Status.IN_PROGRESS);
+
+    private final ImageUploadTaskRepository taskRepository;
+    private final ArticleRepository articleRepository;
+    private final ImageService imageService;
+    private final RelatedArticles relatedArticles;
+    private final UploadSpool uploadSpool;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService workers;
+
+    public ImageUploadOutbox(ImageUploadTaskRepository taskRepository,
+                             ArticleRepository articleRepository,
+                             ImageService imageService,
+                             RelatedArticles relatedArticles,
+                             UploadSpool uploadSpool,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.image-outbox.workers:2}") int workerCount,
+                             @Value("${app.image-outbox.max-attempts:6}") int maxAttempts,
+                             @Value("${app.image-outbox.backoff-ms:2000}") long backoffMillis,
+                             @Value("${app.image-outbox.max-backoff-ms:300000}") long maxBackoffMillis) {
+        this.taskRepository = taskRepository;
+        this.articleRepository = articleRepository;
+        this.imageService = imageService;
+        this.relatedArticles = relatedArticles;
+        this.uploadSpool = uploadSpool;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Spools the image and records an upload task for the article. Must be called inside
+     * the transaction that saves the article so both commit or roll back together; an
+     * earlier upload still waiting for the same article is superseded.
+     */
+    public void enqueue(Long articleId, MultipartFile image) {
+        Path spool = uploadSpool.spool(image);
+        for (ImageUploadTask previous : taskRepository.findByArticleIdAndStatusIn(articleId, ACTIVE)) {
+            boolean notStarted = previous.getStatus() == ImageUploadTask.Status.PENDING;
+            previous.setStatus(ImageUploadTask.Status.SUPERSEDED);
+            if (notStarted) {
+                Path stale = Path.of(previous.getSpoolPath());
+                afterCommit(() -> uploadSpool.delete(stale));
+            }
+        }
+        taskRepository.save(ImageUploadTask.builder()
+                .articleId(articleId)
+                .spoolPath(spool.toString())
+                .originalFilename(image.getOriginalFilename())
+                .status(ImageUploadTask.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        // Start right away instead of waiting for the next poll, but off the
+                        // request thread: the finished transaction's resources are still bound here
+                        workers.execute(ImageUploadOutbox.this::poll);
+                    } else {
+                        uploadSpool.delete(spool);
+                    }
+                }
+            });
+        } else {
+            workers.execute(this::poll);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterrupted() {
+        Integer reset = transaction.execute(status -> taskRepository.transitionAll(
+                ImageUploadTask.Status.IN_PROGRESS, ImageUploadTask.Status.PENDING));
+        if (reset != null && reset > 0) {
+            log.info("Requeued {} image uploads interrupted by the last shutdown", reset);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.image-outbox.poll-interval-ms:2000}")
+    public void poll() {
+        int free = workerCount - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+        List<ImageUploadTask> due = taskRepository.findDue(ImageUploadTask.Status.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, free));
+        for (ImageUploadTask task : due) {
+            Integer claimed = transaction.execute(status -> taskRepository.transition(task.getId(),
+                    ImageUploadTask.Status.PENDING, ImageUploadTask.Status.IN_PROGRESS, LocalDateTime.now()));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            inFlight.incrementAndGet();
+            workers.execute(() -> {
+                try {
+                    process(task);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void process(ImageUploadTask task) {
+        if (!Files.isRegularFile(Path.of(task.getSpoolPath()))) {
+            // Retrying cannot bring the payload back, so stop showing the image as pending
+            giveUp(task.getId(), "Spooled file is missing: " + task.getSpoolPath());
+            return;
+        }
+        String imageUrl;
+        try {
+            imageUrl = imageService.uploadImage(Path.of(task.getSpoolPath()).toFile(), task.getOriginalFilename());
+        } catch (RuntimeException e) {
+            fail(task.getId(), e);
+            return;
+        }
+        complete(task.getId(), imageUrl);
+    }
+
+    private void complete(Long taskId, String imageUrl) {
+        // Images this upload orphans are released in the same transaction, so their
+        // deletion is queued atomically with the article change
+        Path spool = transaction.execute(status -> {
+            ImageUploadTask task = taskRepository.findById(taskId).orElse(null);
+            if (task == null) {
+                imageService.deleteImage(imageUrl);
+                return null;
+            }
+            Path spooled = Path.of(task.getSpoolPath());
+            if (task.getStatus() != ImageUploadTask.Status.IN_PROGRESS) {
+                // A newer image replaced this one while it was uploading
+                imageService.deleteImage(imageUrl);
+                return spooled;
+            }
+            task.setStatus(ImageUploadTask.Status.DONE);
+            Optional<Article> found = articleRepository.findWithAuthorAndCategoryById(task.getArticleId());
+            if (found.isEmpty()) {
+                imageService.deleteImage(imageUrl);
+                return spooled;
+            }
+
+            Article article = found.get();
+            String previousImage = article.getFeaturedImage();
+            article.setImagePending(false);
+            if (imageUrl == null) {
+                // Image host not configured; keep whatever the article had
+                return spooled;
+            }
+            article.setFeaturedImage(imageUrl);
+            relatedArticles.indexAfterCommit(article);
+            boolean published = Boolean.TRUE.equals(article.getIsPublished());
+            Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+            eventPublisher.publishEvent(new ArticleChangedEvent(article.getId(), ArticleChangedEvent.Type.UPDATED,
+                    categoryId, categoryId, published, published));
+            // Re-uploading identical content took a second reference to the same blob, so the
+            // previous image is released even when the URL did not change
+            imageService.deleteImage(previousImage);
+            return spooled;
+        });
+
+        if (spool != null) {
+            uploadSpool.delete(spool);
+        }
+    }
+
+    private void fail(Long taskId, RuntimeException error) {
+        Path abandoned = transaction.execute(status -> {
+            ImageUploadTask task = taskRepository.findById(taskId).orElse(null);
+            if (task == null) {
+                return null;
+            }
+            if (task.getStatus() != ImageUploadTask.Status.IN_PROGRESS) {
+                // Superseded while uploading; nothing will retry it
+                return Path.of(task.getSpoolPath());
+            }
+            int attempts = task.getAttempts() + 1;
+            task.setAttempts(attempts);
+            task.setLastError(truncate(error.getMessage()));
+            if (attempts >= maxAttempts) {
+                markFailed(task);
+                log.error("Giving up on image upload {} for article {} after {} attempts",
+                        taskId, task.getArticleId(), attempts, error);
+                return Path.of(task.getSpoolPath());
+            }
+            long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempts - 1, 20));
+            task.setStatus(ImageUploadTask.Status.PENDING);
+            task.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+            log.warn("Image upload {} failed (attempt {}), retrying in {} ms", taskId, attempts, delay, error);
+            return null;
+        });
+        if (abandoned != null) {
+            uploadSpool.delete(abandoned);
+        }
+    }
+
+    private void giveUp(Long taskId, String reason) {
+        transaction.executeWithoutResult(status -> taskRepository.findById(taskId)
+                .filter(task -> task.getStatus() == ImageUploadTask.Status.IN_PROGRESS)
+                .ifPresent(task -> {
+                    task.setAttempts(task.getAttempts() + 1);
+                    task.setLastError(truncate(reason));
+                    markFailed(task);
+                    log.error("Image upload {} for article {} failed permanently: {}",
+                            taskId, task.getArticleId(), reason);
+                }));
+    }
+
+    private void markFailed(ImageUploadTask task) {
+        task.setStatus(ImageUploadTask.Status.FAILED);
+        articleRepository.findById(task.getArticleId()).ifPresent(article -> article.setImagePending(false));
+    }
+
+    private static void afterCommit(Runnable action) {
+        ArticleSearchIndex.runAfterCommit(action);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
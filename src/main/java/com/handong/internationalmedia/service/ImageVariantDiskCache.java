@@ -0,0 +1,169 @@
+package com.handong.internationalmedia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Second tier for resized images: one file per variant under a local directory, evicted
+ * least-recently-used once the directory exceeds its byte budget. The index is rebuilt
+ * from file modification times on startup, so the cache survives restarts. File reads and
+ * writes happen outside the lock; only the index is guarded.
+ */
+@Slf4j
+@Component
+public class ImageVariantDiskCache {
+
+    private static final String SUFFIX = ".variant";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ImageVariantDiskCache(@Value("${app.image-variants.disk-dir:${java.io.tmpdir}/him-image-variants}") String directory,
+                                 @Value("${app.image-variants.disk-max-bytes:536870912}") long maxBytes) {
+        this.directory = Path.of(directory);
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            if (sizes.get(key) == null) {
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        Path file = fileFor(key);
+        try {
+            byte[] body = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return body;
+        } catch (NoSuchFileException e) {
+            // Evicted between the index check and the read
+            forget(key);
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read cached image variant {}", file, e);
+            return null;
+        }
+    }
+
+    public void put(String key, byte[] body) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        Path file = fileFor(key);
+        Path temp = directory.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            Files.write(temp, body);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write cached image variant {}", file, e);
+            deleteQuietly(temp);
+            return;
+        }
+
+        List<String> victims = new ArrayList<>();
+        lock.lock();
+        try {
+            Long previous = sizes.put(key, (long) body.length);
+            totalBytes += body.length - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> victim = eldest.next();
+                if (victim.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= victim.getValue();
+                victims.add(victim.getKey());
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (String victim : victims) {
+            deleteQuietly(fileFor(victim));
+        }
+    }
+
+    private void forget(String key) {
+        lock.lock();
+        try {
+            Long removed = sizes.remove(key);
+            if (removed != null) {
+                totalBytes -= removed;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ImageVariantDiskCache::lastModified))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not scan image variant cache {}", directory, e);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                sizes.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                totalBytes += size;
+            } catch (IOException e) {
+                deleteQuietly(file);
+            }
+        }
+        log.info("Image variant cache holds {} files ({} bytes)", sizes.size(), totalBytes);
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached image variant {}", file, e);
+        }
+    }
+}
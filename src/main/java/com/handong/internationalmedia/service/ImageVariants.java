@@ -0,0 +1,279 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ResponsiveImage;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Resized featured images for {@code /img/{articleId}}. Lookups go memory LRU, then the
+ * disk tier, then fetch-and-resize; concurrent misses for the same variant share a single
+ * resize. Memory entries are keyed by the URL version the page asked for, so a hit needs
+ * no database access; misses resolve the current source and only ever store under it.
+ */
+@Service
+public class ImageVariants {
+
+    private final ArticleRepository articleRepository;
+    private final ImageVariantDiskCache diskCache;
+    private final ImageStore imageStore;
+    private final ImageResizer resizer;
+    private final HttpClient httpClient;
+    private final Semaphore resizePermits;
+    private final long maxSourceBytes;
+    private final long maxMemoryBytes;
+
+    private final LinkedHashMap<String, Variant> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private final ConcurrentHashMap<String, CompletableFuture<Variant>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariants(ArticleRepository articleRepository,
+                         ImageVariantDiskCache diskCache,
+                         ImageStore imageStore,
+                         @Value("${app.image-variants.memory-max-bytes:33554432}") long maxMemoryBytes,
+                         @Value("${app.image-variants.max-concurrent-resizes:0}") int maxConcurrentResizes,
+                         @Value("${app.image-variants.max-source-bytes:20971520}") long maxSourceBytes,
+                         @Value("${app.image-variants.max-source-pixels:40000000}") long maxSourcePixels,
+                         @Value("${app.image-variants.fetch-timeout-ms:10000}") long fetchTimeoutMillis) {
+        this.articleRepository = articleRepository;
+        this.diskCache = diskCache;
+        this.imageStore = imageStore;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxSourceBytes = maxSourceBytes;
+        this.resizer = new ImageResizer(maxSourcePixels);
+        this.resizePermits = new Semaphore(maxConcurrentResizes > 0
+                ? maxConcurrentResizes : Runtime.getRuntime().availableProcessors());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(fetchTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public static int snapWidth(int requested) {
+        for (int width : ResponsiveImage.WIDTHS) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return ResponsiveImage.WIDTHS.get(ResponsiveImage.WIDTHS.size() - 1);
+    }
+
+    /**
+     * Returns the variant of the article's current featured image, or empty when the
+     * article has no image. {@code version} is the {@code v} parameter from the URL.
+     */
+    public Optional<Variant> get(Long articleId, String version, int width) {
+        Variant cached = memoryGet(memoryKey(articleId, version, width));
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<String> source = source(articleId);
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+        String currentVersion = ResponsiveImage.version(source.get());
+        String memoryKey = memoryKey(articleId, currentVersion, width);
+        if (!currentVersion.equals(version)) {
+            cached = memoryGet(memoryKey);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        String diskKey = diskKey(articleId, source.get(), width);
+        CompletableFuture<Variant> mine = new CompletableFuture<>();
+        CompletableFuture<Variant> running = inFlight.putIfAbsent(diskKey, mine);
+        if (running != null) {
+            return Optional.of(await(running));
+        }
+        try {
+            // The previous holder of the slot may have finished between our lookup and now
+            Variant finished = memoryGet(memoryKey);
+            if (finished != null) {
+                mine.complete(finished);
+                return Optional.of(finished);
+            }
+            Variant variant = load(diskKey, source.get(), currentVersion, width);
+            memoryPut(memoryKey, variant);
+            mine.complete(variant);
+            return Optional.of(variant);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(diskKey, mine);
+        }
+    }
+
+    /** The original image URL, for falling back when a variant cannot be produced. */
+    public Optional<String> source(Long articleId) {
+        return articleRepository.findFeaturedImageById(articleId).filter(s -> !s.isBlank());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() == ArticleChangedEvent.Type.DELETED) {
+            evict(event.getArticleId());
+        }
+    }
+
+    private Variant load(String diskKey, String source, String version, int width) {
+        byte[] body = diskCache.get(diskKey);
+        if (body == null) {
+            byte[] original = fetch(source);
+            try {
+                resizePermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to resize image", e);
+            }
+            try {
+                body = resizer.resize(original, width);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to resize " + source, e);
+            } finally {
+                resizePermits.release();
+            }
+            diskCache.put(diskKey, body);
+        }
+        return new Variant(body, version);
+    }
+
+    private byte[] fetch(String source) {
+        Optional<Path> local = imageStore.resolveLocal(source);
+        if (local.isPresent()) {
+            return read(local.get(), source);
+        }
+        URI uri = URI.create(source);
+        if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Unsupported image source: " + source);
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(httpClient.connectTimeout().orElse(Duration.ofSeconds(10)))
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode());
+                }
+                byte[] bytes = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSourceBytes + 1));
+                if (bytes.length > maxSourceBytes) {
+                    throw new IOException("Source image exceeds " + maxSourceBytes + " bytes");
+                }
+                return bytes;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fetch " + source, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + source, e);
+        }
+    }
+
+    private byte[] read(Path file, String source) {
+        try (InputStream body = Files.newInputStream(file)) {
+            byte[] bytes = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSourceBytes + 1));
+            if (bytes.length > maxSourceBytes) {
+                throw new IOException("Source image exceeds " + maxSourceBytes + " bytes");
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + source, e);
+        }
+    }
+
+    private static Variant await(CompletableFuture<Variant> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized Variant memoryGet(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void memoryPut(String key, Variant variant) {
+        if (variant.body.length > maxMemoryBytes) {
+            return;
+        }
+        Variant previous = memory.put(key, variant);
+        memoryBytes += variant.body.length - (previous != null ? previous.body.length : 0);
+        Iterator<Variant> eldest = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    private synchronized void evict(Long articleId) {
+        String prefix = articleId + "/";
+        Iterator<Map.Entry<String, Variant>> entries = memory.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Variant> entry = entries.next();
+            if (entry.getKey().startsWith(prefix)) {
+                memoryBytes -= entry.getValue().body.length;
+                entries.remove();
+            }
+        }
+    }
+
+    private static String memoryKey(Long articleId, String version, int width) {
+        return articleId + "/" + version + "/" + width;
+    }
+
+    private static String diskKey(Long articleId, String source, int width) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((articleId + "\n" + source + "\n" + width)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static final class Variant {
+        private final byte[] body;
+        private final String version;
+
+        private Variant(byte[] body, String version) {
+            this.body = body;
+            this.version = version;
+        }
+    }
+}
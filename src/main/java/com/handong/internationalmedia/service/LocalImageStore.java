@@ -0,0 +1,90 @@
+package com.handong.internationalmedia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores images on local disk as {@code <dir>/<ab>/<sha256>.<ext>} and serves them from
+ * {@link #URL_PREFIX}. Needs no network, so the app can run and be load-tested offline.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.image-store.type", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    public static final String URL_PREFIX = "/media/";
+
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final Pattern RELATIVE_PATH = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+
+    private final Path directory;
+
+    public LocalImageStore(@Value("${app.image-store.local.dir:${java.io.tmpdir}/him-images}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    @Override
+    public String put(String contentHash, File file, String originalFilename) throws IOException {
+        String relative = contentHash.substring(0, 2) + "/" + contentHash + "." + extension(originalFilename);
+        Path target = directory.resolve(relative);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(UUID.randomUUID() + ".tmp");
+            try {
+                Files.copy(file.toPath(), temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("Image stored locally: {}", target);
+        }
+        return URL_PREFIX + relative;
+    }
+
+    @Override
+    public void delete(String imageUrl) throws IOException {
+        Optional<Path> file = resolveLocal(imageUrl);
+        if (file.isPresent()) {
+            Files.deleteIfExists(file.get());
+            log.info("Image deleted successfully: {}", file.get());
+        }
+    }
+
+    @Override
+    public Optional<Path> resolveLocal(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+            return Optional.empty();
+        }
+        String relative = imageUrl.substring(URL_PREFIX.length());
+        // Only names this store generated; anything else could point outside the directory
+        if (!RELATIVE_PATH.matcher(relative).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(directory.resolve(relative));
+    }
+
+    private static String extension(String originalFilename) {
+        if (originalFilename != null) {
+            int dot = originalFilename.lastIndexOf('.');
+            if (dot >= 0) {
+                String extension = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+                if (EXTENSION.matcher(extension).matches()) {
+                    return extension;
+                }
+            }
+        }
+        return "img";
+    }
+}
@@ -0,0 +1,244 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incrementally maintained top-K of published articles by all-time views, globally and
+ * per category. A view only bumps a per-article counter in a concurrent map; a short tick
+ * folds the counters into the ranking in O(log K) each under the writer lock and
+ * republishes immutable id lists, so neither views nor reads take the lock.
+ */
+@Slf4j
+@Component
+public class PopularArticles {
+
+    private static final Long GLOBAL = -1L;
+
+    private final ArticleRepository articleRepository;
+    private final int capacity;
+
+    private final Map<Long, Long> viewCounts = new HashMap<>();
+    private final Map<Long, Long> categoryOf = new HashMap<>();
+    private final Map<Long, TopK> scopes = new HashMap<>();
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+    private volatile boolean seedAttempted;
+    private volatile boolean seeded;
+
+    private volatile Map<Long, List<Long>> published = Map.of();
+
+    public PopularArticles(ArticleRepository articleRepository,
+                           @Value("${app.popular.capacity:50}") int capacity) {
+        this.articleRepository = articleRepository;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Ids of the most viewed published articles, best first. A null category means all
+     * categories. At most {@code app.popular.capacity} ids are tracked per scope. Empty
+     * until the startup seed has run.
+     */
+    public List<Long> top(int k, Long categoryId) {
+        List<Long> ids = published.getOrDefault(categoryId != null ? categoryId : GLOBAL, List.of());
+        return ids.size() <= k ? ids : ids.subList(0, k);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void recordView(Long articleId) {
+        // merge() only locks the key's bin, so concurrent views of different articles don't contend
+        pendingViews.merge(articleId, 1L, Long::sum);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        if (!seeded) {
+            return;
+        }
+        Long id = event.getArticleId();
+        Long count = viewCounts.remove(id);
+        List<Long> shrunk = new ArrayList<>(2);
+        if (count != null) {
+            Long previousCategory = categoryOf.remove(id);
+            if (scope(GLOBAL).removeFromFull(id)) {
+                shrunk.add(GLOBAL);
+            }
+            if (previousCategory != null && scope(previousCategory).removeFromFull(id)) {
+                shrunk.add(previousCategory);
+            }
+        }
+        if (event.isPublished()) {
+            track(id, event.getCategoryId(), count != null ? count : 0L);
+        }
+        for (Long key : shrunk) {
+            // The article left a full scope and did not take its place back, so the best
+            // untracked article may belong there now
+            if (scope(key).size() < capacity) {
+                refill(key);
+            }
+        }
+        publish();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        seedAttempted = true;
+        // Query before taking the lock so recordView() never waits behind JDBC
+        List<Object[]> rows = articleRepository.findPublishedViewCounts();
+        synchronized (this) {
+            viewCounts.clear();
+            categoryOf.clear();
+            scopes.clear();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Long categoryId = (Long) row[1];
+                Long views = (Long) row[2];
+                track(id, categoryId, views != null ? views : 0L);
+            }
+            seeded = true;
+            publish();
+        }
+        log.info("Popular article ranking seeded with {} articles", rows.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.popular.publish-interval-ms:1000}")
+    public void publishIfDirty() {
+        if (!seeded) {
+            if (seedAttempted) {
+                // The startup seed failed; retry here rather than on a request thread
+                seed();
+            }
+            return;
+        }
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            boolean changed = false;
+            for (Long id : pendingViews.keySet()) {
+                // remove() is atomic with merge(), so a view recorded now starts a fresh entry
+                Long views = pendingViews.remove(id);
+                Long current = viewCounts.get(id);
+                if (views == null || current == null) {
+                    continue;
+                }
+                long updated = current + views;
+                viewCounts.put(id, updated);
+                changed |= scope(GLOBAL).offer(id, updated);
+                Long categoryId = categoryOf.get(id);
+                if (categoryId != null) {
+                    changed |= scope(categoryId).offer(id, updated);
+                }
+            }
+            if (changed) {
+                publish();
+            }
+        }
+    }
+
+    private void track(Long id, Long categoryId, long count) {
+        viewCounts.put(id, count);
+        scope(GLOBAL).offer(id, count);
+        if (categoryId != null) {
+            categoryOf.put(id, categoryId);
+            scope(categoryId).offer(id, count);
+        }
+    }
+
+    private void refill(Long key) {
+        TopK topK = scope(key);
+        for (Map.Entry<Long, Long> entry : viewCounts.entrySet()) {
+            if (GLOBAL.equals(key) || key.equals(categoryOf.get(entry.getKey()))) {
+                topK.offer(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private TopK scope(Long key) {
+        return scopes.computeIfAbsent(key, k -> new TopK(capacity));
+    }
+
+    private void publish() {
+        Map<Long, List<Long>> snapshot = new HashMap<>();
+        scopes.forEach((key, topK) -> snapshot.put(key, topK.ids()));
+        published = Map.copyOf(snapshot);
+    }
+
+    private static final class TopK {
+        private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(e -> e[1]).reversed()
+                .thenComparing(Comparator.<long[]>comparingLong(e -> e[0]).reversed());
+
+        private final int capacity;
+        private final TreeSet<long[]> ranked = new TreeSet<>(ORDER);
+        private final Map<Long, long[]> members = new HashMap<>();
+
+        private TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Returns whether the ranking changed.
+         */
+        boolean offer(long id, long count) {
+            long[] existing = members.get(id);
+            if (existing != null) {
+                if (existing[1] == count) {
+                    return false;
+                }
+                ranked.remove(existing);
+            } else if (ranked.size() >= capacity && ORDER.compare(new long[]{id, count}, ranked.last()) >= 0) {
+                return false;
+            }
+            long[] entry = {id, count};
+            ranked.add(entry);
+            members.put(id, entry);
+            if (ranked.size() > capacity) {
+                members.remove(ranked.pollLast()[0]);
+            }
+            return true;
+        }
+
+        /**
+         * Removes the member and returns whether the scope was full, i.e. whether an
+         * article outside it may now deserve the freed slot.
+         */
+        boolean removeFromFull(long id) {
+            boolean full = ranked.size() >= capacity;
+            long[] existing = members.remove(id);
+            if (existing == null) {
+                return false;
+            }
+            ranked.remove(existing);
+            return full;
+        }
+
+        int size() {
+            return ranked.size();
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (long[] entry : ranked) {
+                ids.add(entry[0]);
+            }
+            return List.copyOf(ids);
+        }
+    }
+}
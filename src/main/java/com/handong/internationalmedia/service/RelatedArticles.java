@@ -0,0 +1,356 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed "related articles" for every published article. Articles are compared as
+ * pruned TF-IDF vectors over title, summary and body (weighted like the search index),
+ * with a bonus for sharing a category. Saving an article only rescores the articles that
+ * share a term with it; a periodic full rebuild refreshes document frequencies. Changes
+ * that land while a rebuild is loading are logged and replayed after it swaps in.
+ */
+@Slf4j
+@Component
+public class RelatedArticles {
+
+    private static final int MAX_TERMS_PER_ARTICLE = 64;
+    private static final double CATEGORY_AFFINITY = 0.15;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final Comparator<Neighbor> BEST_FIRST = Comparator.comparingDouble((Neighbor n) -> n.score)
+            .reversed().thenComparing(n -> n.id, Comparator.reverseOrder());
+
+    private final ArticleRepository articleRepository;
+    private final int neighborCount;
+
+    // Writer state, guarded by this
+    private final Map<Long, Map<String, Double>> vectors = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<String, Integer> documentFrequency = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final Map<Long, Long> categoryOf = new HashMap<>();
+    private final Map<Long, List<Neighbor>> neighbors = new HashMap<>();
+    private final Map<Long, Set<Long>> referencedBy = new HashMap<>();
+    // Latest change per article for each rebuild still loading; a null change is a removal
+    private final List<Map<Long, Change>> rebuildLogs = new ArrayList<>();
+
+    // Read side; lists are immutable and replaced whole
+    private final Map<Long, List<Long>> publishedNeighbors = new ConcurrentHashMap<>();
+    private final Map<Long, ArticleSummaryDto> summaries = new ConcurrentHashMap<>();
+
+    public RelatedArticles(ArticleRepository articleRepository,
+                           @Value("${app.related.neighbors:8}") int neighborCount) {
+        this.articleRepository = articleRepository;
+        this.neighborCount = neighborCount;
+    }
+
+    public List<ArticleSummaryDto> getRelated(Long articleId, int limit) {
+        return publishedNeighbors.getOrDefault(articleId, List.of()).stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.related.rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.related.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Map<Long, Change> changes = new HashMap<>();
+        synchronized (this) {
+            rebuildLogs.add(changes);
+        }
+        try {
+            rebuild(changes);
+        } finally {
+            synchronized (this) {
+                rebuildLogs.removeIf(pending -> pending == changes);
+            }
+        }
+    }
+
+    private void rebuild(Map<Long, Change> changes) {
+        // Load everything before locking so after-commit rescoring never waits behind JDBC
+        Map<Long, Map<String, Integer>> termsById = new HashMap<>();
+        Map<Long, Long> categories = new HashMap<>();
+        Map<Long, ArticleSummaryDto> loaded = new HashMap<>();
+        List<Article> batch;
+        long lastId = 0;
+        do {
+            batch = articleRepository.findByIsPublishedTrueAndIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Article article : batch) {
+                lastId = article.getId();
+                termsById.put(article.getId(), ArticleSearchIndex.termFrequencies(article));
+                loaded.put(article.getId(), toSummary(article));
+                if (article.getCategory() != null) {
+                    categories.put(article.getId(), article.getCategory().getId());
+                }
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        synchronized (this) {
+            clear();
+            termsById.forEach((id, terms) -> {
+                documentTerms.put(id, Set.copyOf(terms.keySet()));
+                terms.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+            });
+            categoryOf.putAll(categories);
+            termsById.forEach(this::addVector);
+            for (Long id : termsById.keySet()) {
+                setNeighbors(id, topNeighbors(score(id)));
+            }
+
+            summaries.putAll(loaded);
+            summaries.keySet().retainAll(loaded.keySet());
+            publishedNeighbors.keySet().retainAll(loaded.keySet());
+
+            // The pages may predate these writes; the logged state is newer
+            changes.forEach((id, change) -> {
+                if (change == null) {
+                    removeAndRescore(id);
+                } else {
+                    putLocked(id, change.terms, change.categoryId, change.summary);
+                }
+            });
+        }
+        log.info("Related articles computed for {} articles", loaded.size());
+    }
+
+    /**
+     * Rescores the article once the surrounding transaction commits. Text and summary are
+     * captured now, while the entity's associations are still loadable.
+     */
+    public void indexAfterCommit(Article article) {
+        Long id = article.getId();
+        if (!Boolean.TRUE.equals(article.getIsPublished())) {
+            removeAfterCommit(id);
+            return;
+        }
+        Map<String, Integer> terms = ArticleSearchIndex.termFrequencies(article);
+        Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+        ArticleSummaryDto summary = toSummary(article);
+        ArticleSearchIndex.runAfterCommit(() -> put(id, terms, categoryId, summary));
+    }
+
+    public void removeAfterCommit(Long articleId) {
+        ArticleSearchIndex.runAfterCommit(() -> remove(articleId));
+    }
+
+    public synchronized void put(Long id, Map<String, Integer> terms, Long categoryId, ArticleSummaryDto summary) {
+        rebuildLogs.forEach(changes -> changes.put(id, new Change(terms, categoryId, summary)));
+        putLocked(id, terms, categoryId, summary);
+    }
+
+    public synchronized void remove(Long id) {
+        rebuildLogs.forEach(changes -> changes.put(id, null));
+        removeAndRescore(id);
+    }
+
+    private void putLocked(Long id, Map<String, Integer> terms, Long categoryId, ArticleSummaryDto summary) {
+        Set<Long> orphaned = removeLocked(id);
+        documentTerms.put(id, Set.copyOf(terms.keySet()));
+        terms.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        if (categoryId != null) {
+            categoryOf.put(id, categoryId);
+        }
+        addVector(id, terms);
+        summaries.put(id, summary);
+
+        Map<Long, Double> scores = score(id);
+        setNeighbors(id, topNeighbors(scores));
+        // Similarity is symmetric, so the new article may displace others' weakest neighbor
+        scores.forEach((other, value) -> offer(other, new Neighbor(id, value)));
+        orphaned.remove(id);
+        for (Long other : orphaned) {
+            if (vectors.containsKey(other)) {
+                setNeighbors(other, topNeighbors(score(other)));
+            }
+        }
+    }
+
+    private void removeAndRescore(Long id) {
+        for (Long other : removeLocked(id)) {
+            setNeighbors(other, topNeighbors(score(other)));
+        }
+    }
+
+    /**
+     * Drops the article from every structure and returns the articles that listed it as
+     * a neighbor and therefore need rescoring.
+     */
+    private Set<Long> removeLocked(Long id) {
+        Set<Long> orphaned = new HashSet<>(referencedBy.getOrDefault(id, Set.of()));
+        Set<String> previousTerms = documentTerms.remove(id);
+        if (previousTerms != null) {
+            for (String term : previousTerms) {
+                documentFrequency.computeIfPresent(term, (t, df) -> df > 1 ? df - 1 : null);
+            }
+        }
+        Map<String, Double> vector = vectors.remove(id);
+        if (vector != null) {
+            for (String term : vector.keySet()) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        categoryOf.remove(id);
+        setNeighbors(id, List.of());
+        neighbors.remove(id);
+        referencedBy.remove(id);
+        for (Long other : orphaned) {
+            List<Neighbor> list = neighbors.get(other);
+            if (list != null) {
+                setNeighbors(other, list.stream().filter(n -> !n.id.equals(id)).collect(Collectors.toList()));
+            }
+        }
+        publishedNeighbors.remove(id);
+        summaries.remove(id);
+        return orphaned;
+    }
+
+    private void addVector(Long id, Map<String, Integer> terms) {
+        int documentCount = Math.max(documentTerms.size(), 1);
+        Map<String, Double> weights = new HashMap<>();
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            int df = documentFrequency.getOrDefault(term.getKey(), 1);
+            double idf = Math.log(1.0 + (double) documentCount / df);
+            weights.put(term.getKey(), (1 + Math.log(term.getValue())) * idf);
+        }
+
+        // Keep only the most distinctive terms so postings stay short
+        List<Map.Entry<String, Double>> strongest = weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(MAX_TERMS_PER_ARTICLE)
+                .collect(Collectors.toList());
+        double norm = Math.sqrt(strongest.stream().mapToDouble(e -> e.getValue() * e.getValue()).sum());
+        Map<String, Double> vector = new HashMap<>();
+        for (Map.Entry<String, Double> entry : strongest) {
+            vector.put(entry.getKey(), norm == 0 ? 0 : entry.getValue() / norm);
+            postings.computeIfAbsent(entry.getKey(), t -> new HashSet<>()).add(id);
+        }
+        vectors.put(id, vector);
+    }
+
+    private Map<Long, Double> score(Long id) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<String, Double> vector = vectors.getOrDefault(id, Map.of());
+        for (Map.Entry<String, Double> term : vector.entrySet()) {
+            for (Long other : postings.getOrDefault(term.getKey(), Set.of())) {
+                if (!other.equals(id)) {
+                    scores.merge(other, term.getValue() * vectors.get(other).get(term.getKey()), Double::sum);
+                }
+            }
+        }
+        Long categoryId = categoryOf.get(id);
+        if (categoryId != null) {
+            scores.replaceAll((other, value) ->
+                    categoryId.equals(categoryOf.get(other)) ? value + CATEGORY_AFFINITY : value);
+        }
+        return scores;
+    }
+
+    private List<Neighbor> topNeighbors(Map<Long, Double> scores) {
+        return scores.entrySet().stream()
+                .map(e -> new Neighbor(e.getKey(), e.getValue()))
+                .sorted(BEST_FIRST)
+                .limit(neighborCount)
+                .collect(Collectors.toList());
+    }
+
+    private void offer(Long id, Neighbor candidate) {
+        List<Neighbor> current = neighbors.getOrDefault(id, List.of());
+        if (current.size() >= neighborCount
+                && BEST_FIRST.compare(candidate, current.get(current.size() - 1)) >= 0) {
+            return;
+        }
+        List<Neighbor> updated = new ArrayList<>(current);
+        updated.removeIf(n -> n.id.equals(candidate.id));
+        updated.add(candidate);
+        updated.sort(BEST_FIRST);
+        setNeighbors(id, updated.size() > neighborCount ? updated.subList(0, neighborCount) : updated);
+    }
+
+    private void setNeighbors(Long id, List<Neighbor> list) {
+        for (Neighbor old : neighbors.getOrDefault(id, List.of())) {
+            Set<Long> refs = referencedBy.get(old.id);
+            if (refs != null) {
+                refs.remove(id);
+                if (refs.isEmpty()) {
+                    referencedBy.remove(old.id);
+                }
+            }
+        }
+        List<Neighbor> copy = List.copyOf(list);
+        neighbors.put(id, copy);
+        for (Neighbor neighbor : copy) {
+            referencedBy.computeIfAbsent(neighbor.id, k -> new HashSet<>()).add(id);
+        }
+        publishedNeighbors.put(id, copy.stream().map(n -> n.id).collect(Collectors.toUnmodifiableList()));
+    }
+
+    private void clear() {
+        vectors.clear();
+        postings.clear();
+        documentFrequency.clear();
+        documentTerms.clear();
+        categoryOf.clear();
+        neighbors.clear();
+        referencedBy.clear();
+    }
+
+    private static ArticleSummaryDto toSummary(Article article) {
+        return ArticleSummaryDto.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .summary(article.getSummary())
+                .featuredImage(article.getFeaturedImage())
+                .readTime(article.getReadTime())
+                .categoryName(article.getCategory() != null ? article.getCategory().getName() : null)
+                .authorName(article.getAuthor() != null ? article.getAuthor().getFullName() : null)
+                .viewCount(article.getViewCount())
+                .isFeatured(article.getIsFeatured())
+                .isPublished(article.getIsPublished())
+                .publishedAt(article.getPublishedAt())
+                .createdAt(article.getCreatedAt())
+                .contentPreview(ArticleSummaryDto.previewOf(article.getSummary(), article.getContent()))
+                .build();
+    }
+
+    private record Change(Map<String, Integer> terms, Long categoryId, ArticleSummaryDto summary) {
+    }
+
+    private static final class Neighbor {
+        private final Long id;
+        private final double score;
+
+        private Neighbor(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
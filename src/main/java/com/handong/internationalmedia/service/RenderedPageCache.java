@@ -0,0 +1,168 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.event.CategoryChangedEvent;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Size-bounded LRU of rendered HTML for anonymous page views. Each entry is tagged with
+ * the article or category it renders so writes only evict the pages they affect.
+ */
+@Component
+public class RenderedPageCache {
+
+    public static final String TAG_LISTINGS = "listings";
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private long totalBytes;
+    private long generation;
+
+    public RenderedPageCache(@Value("${app.page-cache.max-entries:2000}") int maxEntries,
+                             @Value("${app.page-cache.max-bytes:33554432}") long maxBytes,
+                             @Value("${app.page-cache.ttl-ms:60000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            removeKey(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Current invalidation generation. Capture it before rendering and pass it to
+     * {@link #put} so a page rendered while its data changed is not stored.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized void put(String key, long renderedAtGeneration, byte[] body, String contentType,
+                                 Long articleId, Set<String> tags) {
+        if (renderedAtGeneration != generation || body.length > maxBytes) {
+            return;
+        }
+        removeKey(key);
+        entries.put(key, new Entry(body, contentType, articleId, Set.copyOf(tags),
+                System.currentTimeMillis() + ttlMillis));
+        totalBytes += body.length;
+        for (String tag : tags) {
+            keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+        }
+
+        Iterator<String> eldest = entries.keySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            String victim = eldest.next();
+            Entry removed = entries.get(victim);
+            eldest.remove();
+            forget(victim, removed);
+        }
+    }
+
+    public synchronized void invalidateTag(String tag) {
+        generation++;
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            for (String key : Set.copyOf(keys)) {
+                removeKey(key);
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        keysByTag.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidateTag(TAG_LISTINGS);
+        invalidateTag(articleTag(event.getArticleId()));
+        if (event.getPreviousCategoryId() != null) {
+            invalidateTag(categoryTag(event.getPreviousCategoryId()));
+        }
+        if (event.getCategoryId() != null) {
+            invalidateTag(categoryTag(event.getCategoryId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Every page renders the category navigation
+        invalidateAll();
+    }
+
+    public static String articleTag(Long articleId) {
+        return "article:" + articleId;
+    }
+
+    public static String categoryTag(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    private void removeKey(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            forget(key, removed);
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        totalBytes -= entry.body.length;
+        for (String tag : entry.tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    @Getter
+    public static final class Entry {
+        private final byte[] body;
+        private final String contentType;
+        private final Long articleId;
+        private final Set<String> tags;
+        private final long expiresAt;
+
+        private Entry(byte[] body, String contentType, Long articleId, Set<String> tags, long expiresAt) {
+            this.body = body;
+            this.contentType = contentType;
+            this.articleId = articleId;
+            this.tags = tags;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
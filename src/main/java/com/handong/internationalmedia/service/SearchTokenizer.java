@@ -0,0 +1,100 @@
+package com.handong.internationalmedia.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits article text into index terms. Latin words and numbers become whole-word terms,
+ * while Hangul and other CJK runs are split into overlapping bigrams because they are
+ * not reliably separated by spaces. Indexed text also gets every CJK character as a
+ * unigram so a one-syllable query can match inside a longer run; queries of two or more
+ * syllables use only their bigrams, which are far more selective.
+ */
+final class SearchTokenizer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&[a-zA-Z#0-9]+;");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Terms to index for the text: bigrams and unigrams for CJK runs.
+     */
+    static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Terms to look up for a query: bigrams for CJK runs, a unigram only for a run of one.
+     */
+    static List<String> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = HTML_ENTITY.matcher(HTML_TAG.matcher(text).replaceAll(" ")).replaceAll(" ")
+                .toLowerCase(Locale.ROOT);
+
+        StringBuilder run = new StringBuilder();
+        boolean cjkRun = false;
+        int i = 0;
+        while (i < normalized.length()) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+
+            boolean cjk = isCjk(cp);
+            boolean word = cjk || Character.isLetterOrDigit(cp);
+            if (!word || (run.length() > 0 && cjk != cjkRun)) {
+                flush(run, cjkRun, unigrams, tokens);
+            }
+            if (word) {
+                run.appendCodePoint(cp);
+                cjkRun = cjk;
+            }
+        }
+        flush(run, cjkRun, unigrams, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder run, boolean cjk, boolean unigrams, List<String> tokens) {
+        if (run.length() == 0) {
+            return;
+        }
+        String value = run.toString();
+        run.setLength(0);
+
+        if (!cjk) {
+            tokens.add(value);
+            return;
+        }
+        int[] cps = value.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(value);
+            return;
+        }
+        for (int k = 0; k + 1 < cps.length; k++) {
+            tokens.add(new String(cps, k, 2));
+        }
+        if (unigrams) {
+            for (int cp : cps) {
+                tokens.add(new String(Character.toChars(cp)));
+            }
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
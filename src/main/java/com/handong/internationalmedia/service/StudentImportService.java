@@ -0,0 +1,246 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.StudentDto;
+import com.handong.internationalmedia.dto.StudentImportProgress;
+import com.handong.internationalmedia.dto.StudentImportResult;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk student import from CSV. Rows are streamed from the upload and validated one at a
+ * time; emails are deduplicated against the rest of the file with an in-memory set and
+ * against the table with one {@code IN} query per chunk. Each chunk is then inserted as
+ * a single JDBC batch in its own transaction, so a large roster costs two round trips
+ * per chunk and a failure late in the file keeps the chunks already committed.
+ */
+@Slf4j
+@Service
+@Timed("him.service")
+public class StudentImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO students (name, email, created_at, updated_at) VALUES (?, ?, ?, ?)";
+    private static final String EXISTING_SQL = "SELECT email FROM students WHERE email IN (:emails)";
+    private static final int MAX_CHUNK_SIZE = 1000;
+    private static final int MAX_COLUMN_LENGTH = 100;
+
+    private static final Set<String> NAME_HEADERS = Set.of("name", "이름");
+    private static final Set<String> EMAIL_HEADERS = Set.of("email", "이메일");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public StudentImportService(NamedParameterJdbcTemplate jdbcTemplate,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.student-import.chunk-size:500}") int chunkSize,
+                                @Value("${app.student-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // The chunk becomes an IN list; keep it under common bind-parameter limits
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports a CSV with a header row naming {@code name} and {@code email} columns (in any
+     * order, other columns ignored). {@code progress} is called after every chunk commits.
+     *
+     * @throws IllegalArgumentException if the header is missing either column
+     */
+    public StudentImportResult importCsv(Reader csv, Consumer<StudentImportProgress> progress) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(csv);
+        List<String> header = records.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV 파일이 비어 있습니다.");
+        }
+        int nameColumn = indexOf(header, NAME_HEADERS);
+        int emailColumn = indexOf(header, EMAIL_HEADERS);
+        if (nameColumn < 0 || emailColumn < 0) {
+            throw new IllegalArgumentException("CSV 헤더에 name, email 열이 필요합니다.");
+        }
+
+        Report report = new Report(maxReportedErrors);
+        Map<String, Integer> firstLineByEmail = new HashMap<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            List<String> fields;
+            try {
+                fields = records.next();
+            } catch (IllegalArgumentException e) {
+                // Quoting is broken from here on, so nothing after it can be trusted
+                report.fail(records.getRecordLine(), null, e.getMessage());
+                break;
+            }
+            if (fields == null) {
+                break;
+            }
+            report.rowsRead++;
+            int line = records.getRecordLine();
+            String name = field(fields, nameColumn);
+            String email = field(fields, emailColumn);
+
+            String error = validate(name, email);
+            if (error != null) {
+                report.fail(line, email, error);
+                continue;
+            }
+            Integer firstLine = firstLineByEmail.putIfAbsent(key(email), line);
+            if (firstLine != null) {
+                report.fail(line, email, "파일의 " + firstLine + "행과 이메일이 중복됩니다.");
+                continue;
+            }
+
+            chunk.add(new Row(line, name, email));
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, report);
+                chunk.clear();
+                progress.accept(report.progress());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, report);
+            progress.accept(report.progress());
+        }
+
+        log.info("Imported {} of {} students from CSV ({} rejected)", report.imported, report.rowsRead, report.failed);
+        // Database duplicates are found a chunk after the file's own errors; list in file order
+        report.errors.sort(Comparator.comparingInt(StudentImportResult.RowError::getLine));
+        return new StudentImportResult(report.rowsRead, report.imported, report.failed,
+                report.failed > report.errors.size(), report.errors);
+    }
+
+    private void insertChunk(List<Row> chunk, Report report) {
+        List<Row> taken = new ArrayList<>();
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        try {
+            transaction.executeWithoutResult(status -> {
+                Set<String> existing = findExisting(chunk);
+                for (Row row : chunk) {
+                    (existing.contains(key(row.email)) ? taken : fresh).add(row);
+                }
+                if (!fresh.isEmpty()) {
+                    LocalDateTime now = LocalDateTime.now();
+                    jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SQL, fresh, fresh.size(), (ps, row) -> {
+                        ps.setString(1, row.name);
+                        ps.setString(2, row.email);
+                        ps.setObject(3, now);
+                        ps.setObject(4, now);
+                    });
+                }
+            });
+        } catch (DataAccessException e) {
+            // Someone registered one of these emails between the check and the batch
+            log.warn("Batch insert of {} students failed, retrying row by row", chunk.size(), e);
+            insertOneByOne(chunk, report);
+            return;
+        }
+        for (Row row : taken) {
+            report.fail(row.line, row.email, "이미 사용 중인 이메일입니다.");
+        }
+        report.imported += fresh.size();
+    }
+
+    private void insertOneByOne(List<Row> chunk, Report report) {
+        for (Row row : chunk) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                jdbcTemplate.getJdbcOperations().update(INSERT_SQL, row.name, row.email, now, now);
+                report.imported++;
+            } catch (DuplicateKeyException e) {
+                report.fail(row.line, row.email, "이미 사용 중인 이메일입니다.");
+            } catch (DataAccessException e) {
+                log.warn("Failed to import student on line {}", row.line, e);
+                report.fail(row.line, row.email, "저장 중 오류가 발생했습니다.");
+            }
+        }
+    }
+
+    private Set<String> findExisting(List<Row> chunk) {
+        List<String> emails = chunk.stream().map(row -> row.email).toList();
+        Set<String> existing = new HashSet<>();
+        for (String email : jdbcTemplate.queryForList(EXISTING_SQL, Map.of("emails", emails), String.class)) {
+            existing.add(key(email));
+        }
+        return existing;
+    }
+
+    private String validate(String name, String email) {
+        if (name.length() > MAX_COLUMN_LENGTH || email.length() > MAX_COLUMN_LENGTH) {
+            return "이름과 이메일은 " + MAX_COLUMN_LENGTH + "자 이하여야 합니다.";
+        }
+        Set<ConstraintViolation<StudentDto>> violations =
+                validator.validate(StudentDto.builder().name(name).email(email).build());
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static int indexOf(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    // Case-insensitive so the file check is at least as strict as a case-insensitive collation
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Row(int line, String name, String email) {
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<StudentImportResult.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(int line, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new StudentImportResult.RowError(line, email, message));
+            }
+        }
+
+        private StudentImportProgress progress() {
+            return new StudentImportProgress(rowsRead, imported, failed);
+        }
+    }
+}
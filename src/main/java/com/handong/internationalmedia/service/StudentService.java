@@ -3,6 +3,7 @@ package com.handong.internationalmedia.service;
 import com.handong.internationalmedia.dto.StudentDto;
 import com.handong.internationalmedia.entity.Student;
 import com.handong.internationalmedia.repository.StudentRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +16,7 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("him.service")
 public class StudentService {
     private final StudentRepository studentRepository;
 
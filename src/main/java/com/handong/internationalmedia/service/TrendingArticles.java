@@ -0,0 +1,190 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Time-decayed trending ranking. Each recently viewed article keeps a ring of per-minute
+ * view buckets; a background tick scores them with exponential decay and publishes the
+ * global and per-category lists as one immutable snapshot, so reads are a map lookup.
+ * At most {@code app.trending.max-tracked} articles keep a ring at any time.
+ */
+@Slf4j
+@Component
+public class TrendingArticles {
+
+    private static final Long GLOBAL = -1L;
+
+    private final ArticleRepository articleRepository;
+    private final int windowMinutes;
+    private final double decayPerMinute;
+    private final int maxTracked;
+    private final int listSize;
+
+    private final ConcurrentHashMap<Long, MinuteRing> rings = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, List<ArticleSummaryDto>> snapshot = Map.of();
+
+    public TrendingArticles(ArticleRepository articleRepository,
+                            @Value("${app.trending.window-minutes:60}") int windowMinutes,
+                            @Value("${app.trending.half-life-minutes:20}") double halfLifeMinutes,
+                            @Value("${app.trending.max-tracked:5000}") int maxTracked,
+                            @Value("${app.trending.list-size:10}") int listSize) {
+        this.articleRepository = articleRepository;
+        this.windowMinutes = windowMinutes;
+        this.decayPerMinute = Math.log(2) / halfLifeMinutes;
+        this.maxTracked = maxTracked;
+        this.listSize = listSize;
+    }
+
+    public void recordView(Long articleId) {
+        long minute = currentMinute();
+        MinuteRing ring = rings.get(articleId);
+        if (ring == null) {
+            if (rings.size() >= maxTracked) {
+                // Full until the next tick drops cold rings; new arrivals wait for room
+                return;
+            }
+            ring = rings.computeIfAbsent(articleId, id -> new MinuteRing(windowMinutes));
+        }
+        ring.record(minute);
+    }
+
+    /**
+     * Trending articles for the category, or across all categories when it is null.
+     */
+    public List<ArticleSummaryDto> getTrending(Long categoryId) {
+        return snapshot.getOrDefault(categoryId != null ? categoryId : GLOBAL, List.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.isPublished()) {
+            rings.remove(event.getArticleId());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.trending.tick-ms:60000}", fixedDelayString = "${app.trending.tick-ms:60000}")
+    public void tick() {
+        long now = currentMinute();
+        Map<Long, Double> scores = new HashMap<>();
+        Iterator<Map.Entry<Long, MinuteRing>> it = rings.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, MinuteRing> entry = it.next();
+            double score = entry.getValue().score(now, decayPerMinute);
+            if (score <= 0) {
+                it.remove();
+            } else {
+                scores.put(entry.getKey(), score);
+            }
+        }
+        if (scores.size() > maxTracked * 3 / 4) {
+            // Keep headroom for new arrivals by shedding the coldest rings
+            scores.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(scores.size() - maxTracked * 3L / 4)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(id -> {
+                        rings.remove(id);
+                        scores.remove(id);
+                    });
+        }
+        if (scores.isEmpty()) {
+            snapshot = Map.of();
+            return;
+        }
+
+        // One query resolves categories and drops articles that were unpublished or deleted
+        Map<Long, Long> categoryOf = new HashMap<>();
+        for (Object[] row : articleRepository.findPublishedCategoryIdsByIdIn(scores.keySet())) {
+            categoryOf.put((Long) row[0], (Long) row[1]);
+        }
+        Comparator<Long> byScore = Comparator.comparingDouble((Long id) -> scores.get(id)).reversed()
+                .thenComparing(Comparator.reverseOrder());
+        Map<Long, List<Long>> ranked = new HashMap<>();
+        categoryOf.keySet().stream().sorted(byScore).forEach(id -> {
+            add(ranked, GLOBAL, id);
+            Long categoryId = categoryOf.get(id);
+            if (categoryId != null) {
+                add(ranked, categoryId, id);
+            }
+        });
+
+        Set<Long> needed = new HashSet<>();
+        ranked.values().forEach(needed::addAll);
+        Map<Long, ArticleSummaryDto> summaries = articleRepository.findPublishedSummariesByIdIn(needed).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+        Map<Long, List<ArticleSummaryDto>> next = new HashMap<>();
+        ranked.forEach((scope, ids) -> next.put(scope, ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList())));
+        snapshot = Map.copyOf(next);
+        log.debug("Trending snapshot rebuilt from {} active articles", scores.size());
+    }
+
+    private void add(Map<Long, List<Long>> ranked, Long scope, Long id) {
+        List<Long> ids = ranked.computeIfAbsent(scope, s -> new ArrayList<>(listSize));
+        if (ids.size() < listSize) {
+            ids.add(id);
+        }
+    }
+
+    long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    /**
+     * Fixed ring of per-minute counters. A slot is reused once its minute falls out of
+     * the window, so a ring never grows.
+     */
+    private static final class MinuteRing {
+        private final long[] minutes;
+        private final long[] counts;
+
+        private MinuteRing(int size) {
+            this.minutes = new long[size];
+            this.counts = new long[size];
+        }
+
+        synchronized void record(long minute) {
+            int slot = (int) (minute % minutes.length);
+            if (minutes[slot] != minute) {
+                minutes[slot] = minute;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+        }
+
+        synchronized double score(long now, double decayPerMinute) {
+            double score = 0;
+            for (int i = 0; i < minutes.length; i++) {
+                long age = now - minutes[i];
+                if (counts[i] > 0 && age >= 0 && age < minutes.length) {
+                    score += counts[i] * Math.exp(-decayPerMinute * age);
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.handong.internationalmedia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Local spool for uploaded images. Parts are copied stream-to-file with a small fixed
+ * buffer, so an upload never exists as one heap array no matter how large it is.
+ */
+@Slf4j
+@Component
+public class UploadSpool {
+
+    private final Path directory;
+
+    public UploadSpool(@Value("${app.image-upload.spool-dir:${java.io.tmpdir}/him-image-spool}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    public Path spool(MultipartFile file) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(UUID.randomUUID() + ".upload");
+            file.transferTo(target);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool image upload", e);
+        }
+    }
+
+    public void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", path, e);
+        }
+    }
+}
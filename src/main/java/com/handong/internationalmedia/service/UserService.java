@@ -2,6 +2,7 @@ package com.handong.internationalmedia.service;
 
 import com.handong.internationalmedia.entity.User;
 import com.handong.internationalmedia.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +16,7 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("him.service")
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
@@ -0,0 +1,90 @@
+package com.handong.internationalmedia.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers article view increments in memory and writes them back in batches,
+ * so page views never take a row lock or open a write transaction.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE articles SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views recorded for the article that have not been written to the database yet.
+     */
+    public long pendingFor(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public void forget(Long articleId) {
+        pending.remove(articleId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            // Entries are never removed here: a concurrent record() may still hold the adder,
+            // and sumThenReset() drains each cell atomically so nothing recorded is dropped.
+            List<Object[]> batch = new ArrayList<>();
+            List<Map.Entry<Long, Long>> drained = new ArrayList<>();
+            for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+                long delta = entry.getValue().sumThenReset();
+                if (delta != 0) {
+                    batch.add(new Object[]{delta, entry.getKey()});
+                    drained.add(Map.entry(entry.getKey(), delta));
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                log.debug("Flushed view counts for {} articles", batch.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush view counts, keeping {} deltas for the next run", drained.size(), e);
+                for (Map.Entry<Long, Long> entry : drained) {
+                    pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
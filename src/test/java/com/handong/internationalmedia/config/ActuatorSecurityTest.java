@@ -0,0 +1,51 @@
+package com.handong.internationalmedia.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Prometheus scrape authenticates with HTTP Basic against the seeded admin account and
+ * is answered with 401, not a redirect to the login form, when credentials are missing.
+ */
+@SpringBootTest(properties = "app.image-store.type=local")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void prometheusRequiresBasicAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists(HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    @Test
+    public void prometheusRejectsWrongPassword() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("tempAdmin", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void prometheusServesAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("tempAdmin", "admin123")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void healthStaysPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
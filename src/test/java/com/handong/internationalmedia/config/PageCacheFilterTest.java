@@ -0,0 +1,60 @@
+package com.handong.internationalmedia.config;
+
+import com.handong.internationalmedia.service.RenderedPageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.page-cache.enabled=true",
+        "app.image-store.type=local",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+public class PageCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RenderedPageCache pageCache;
+
+    @BeforeEach
+    public void clearCache() {
+        pageCache.invalidateAll();
+    }
+
+    @Test
+    public void allowedParametersShareAnEntryRegardlessOfOrder() throws Exception {
+        mockMvc.perform(get("/articles?size=6&page=1")).andExpect(header().string("X-Page-Cache", "MISS"));
+        mockMvc.perform(get("/articles?page=1&size=6")).andExpect(header().string("X-Page-Cache", "HIT"));
+    }
+
+    @Test
+    public void unknownParametersBypassTheCache() throws Exception {
+        mockMvc.perform(get("/articles?page=0&utm_source=mail"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Page-Cache"));
+        mockMvc.perform(get("/articles/1?page=2"))
+                .andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+
+    @Test
+    public void repeatedParametersBypassTheCache() throws Exception {
+        mockMvc.perform(get("/articles?page=0&page=1")).andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+
+    @Test
+    public void homePageTakesNoParameters() throws Exception {
+        mockMvc.perform(get("/")).andExpect(header().string("X-Page-Cache", "MISS"));
+        mockMvc.perform(get("/")).andExpect(header().string("X-Page-Cache", "HIT"));
+        mockMvc.perform(get("/?page=3")).andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.handong.internationalmedia.config;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts how many SQL statements a MockMvc request executes. MockMvc runs the request on
+ * the calling thread, so the {@link SqlStatementCounter} delta is exactly what the request
+ * sent to the database, filters and view rendering included.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static ResultActions assertStatements(MockMvc mockMvc, int expected, RequestBuilder request) throws Exception {
+        long before = SqlStatementCounter.current();
+        ResultActions result = mockMvc.perform(request);
+        long executed = SqlStatementCounter.current() - before;
+        MockHttpServletRequest sent = result.andReturn().getRequest();
+        assertEquals(expected, executed, () -> "SQL statements executed by " + sent.getMethod() + " "
+                + sent.getRequestURI() + (sent.getQueryString() != null ? "?" + sent.getQueryString() : ""));
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.handong.internationalmedia.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class StaticAssetResolverTest {
+
+    private final StaticAssetResolver resolver = new StaticAssetResolver("classpath:/static-assets-test/", null);
+
+    @Test
+    public void servesTheBestAcceptedEncoding() {
+        assertEquals("br", contentEncoding(resolve("app.js", "gzip, deflate, br")));
+        assertEquals("gzip", contentEncoding(resolve("app.js", "gzip")));
+        assertEquals("br", contentEncoding(resolve("app.js", "*")));
+    }
+
+    @Test
+    public void encodingsRefusedWithZeroQualityAreSkipped() {
+        assertEquals("gzip", contentEncoding(resolve("app.js", "br;q=0, gzip")));
+        assertEquals("gzip", contentEncoding(resolve("app.js", "BR; q=0.0, *")));
+        assertNull(contentEncoding(resolve("app.js", "br;q=0, gzip;q=0")));
+        assertNull(contentEncoding(resolve("app.js", "gzip;q=0, *;q=0")));
+    }
+
+    @Test
+    public void codingNamesMatchWholeTokens() {
+        assertNull(contentEncoding(resolve("app.js", "x-gzip-like, brotli")));
+        assertNull(contentEncoding(resolve("app.js", "identity")));
+    }
+
+    @Test
+    public void identityBodyVariesOnAcceptEncodingWhenVariantsExist() {
+        HttpResource identity = assertInstanceOf(HttpResource.class, resolve("app.js", "identity"));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), identity.getResponseHeaders().get(HttpHeaders.VARY));
+        assertEquals("app.js", identity.getFilename());
+
+        assertFalse(resolve("plain.css", "gzip") instanceof HttpResource);
+        assertNull(resolve("missing.js", "gzip"));
+    }
+
+    private Resource resolve(String path, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return resolver.resolveResource(request, path, List.of(), mock(ResourceResolverChain.class));
+    }
+
+    private static String contentEncoding(Resource resource) {
+        HttpResource http = assertInstanceOf(HttpResource.class, resource);
+        return http.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    }
+}
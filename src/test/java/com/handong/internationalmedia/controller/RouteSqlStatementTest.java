@@ -0,0 +1,285 @@
+package com.handong.internationalmedia.controller;
+
+import com.handong.internationalmedia.entity.Student;
+import com.handong.internationalmedia.repository.StudentRepository;
+import com.handong.internationalmedia.service.ArticleCountProvider;
+import com.handong.internationalmedia.service.CategoryRegistry;
+import com.handong.internationalmedia.service.FrontPageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.handong.internationalmedia.config.SqlStatementAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exact SQL statement counts for the routes of the article, home, category and student
+ * controllers, against the seeded data.sql content. Counts are for a warm instance: the
+ * in-memory category, count and front page caches are loaded before each test, and the
+ * rendered page cache is off so Thymeleaf routes actually render.
+ */
+@SpringBootTest(properties = {
+        "app.page-cache.enabled=false",
+        "app.sql-budget.enabled=true",
+        "app.sql-budget.fail=true",
+        "app.image-store.type=local",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+public class RouteSqlStatementTest {
+
+    private static final long ARTICLE_ID = 1L;
+    private static final String CATEGORY = "National";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private ArticleCountProvider articleCountProvider;
+
+    @Autowired
+    private FrontPageService frontPageService;
+
+    private Student student;
+
+    @BeforeEach
+    public void warmUp() {
+        categoryRegistry.getActiveCategories();
+        articleCountProvider.getPublishedCount();
+        frontPageService.getSnapshot();
+
+        studentRepository.deleteAll();
+        student = studentRepository.save(Student.builder().name("Kim Minji").email("minji@example.com").build());
+        studentRepository.save(Student.builder().name("Lee Jisoo").email("jisoo@example.com").build());
+    }
+
+    // ArticleRestController
+
+    @Test
+    public void articleListIsOneSliceQuery() throws Exception {
+        // Totals come from ArticleCountProvider, so no COUNT
+        assertStatements(mockMvc, 1, get("/api/articles?page=0&size=10")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void notModifiedArticleListRunsNoQuery() throws Exception {
+        String etag = mockMvc.perform(get("/api/articles")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertStatements(mockMvc, 0, get("/api/articles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void feedIsOneSeekQuery() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/feed?size=5")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void articleDetailReadsValidatorThenArticle() throws Exception {
+        assertStatements(mockMvc, 2, get("/api/articles/" + ARTICLE_ID)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void notModifiedArticleDetailReadsOnlyTheValidator() throws Exception {
+        String etag = mockMvc.perform(get("/api/articles/" + ARTICLE_ID)).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertStatements(mockMvc, 1, get("/api/articles/" + ARTICLE_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void missingArticleReadsOnlyTheValidator() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/999999")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void relatedArticlesRunNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/api/articles/" + ARTICLE_ID + "/related")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void categoryListingIsOneSliceQuery() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/category/" + CATEGORY + "?page=0&size=10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void unknownCategoryListingRunsNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/api/articles/category/NoSuchCategory")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void categoryFeedIsOneSeekQuery() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/category/" + CATEGORY + "/feed?size=5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void featuredArticlesRunNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/api/articles/featured")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void popularArticlesLoadSummariesOnce() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/popular?k=5")).andExpect(status().isOk());
+        assertStatements(mockMvc, 1, get("/api/articles/popular?k=5&category=" + CATEGORY)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void trendingArticlesRunNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/api/articles/trending")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void searchLoadsOnePageOfSummaries() throws Exception {
+        assertStatements(mockMvc, 1, get("/api/articles/search?keyword=apple")).andExpect(status().isOk());
+    }
+
+    // HomeController
+
+    @Test
+    public void homePageRunsNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void articlesPageIsOneSliceQuery() throws Exception {
+        assertStatements(mockMvc, 1, get("/articles?page=0")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void articleDetailPageFetchesAuthorAndCategoryWithTheArticle() throws Exception {
+        assertStatements(mockMvc, 1, get("/articles/" + ARTICLE_ID)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void categoryPageIsOneSliceQuery() throws Exception {
+        assertStatements(mockMvc, 1, authenticated(get("/category/" + CATEGORY))).andExpect(status().isOk());
+    }
+
+    @Test
+    public void articlesPageHandsOverToTheFeed() throws Exception {
+        String cursor = olderArticlesCursor(get("/articles?page=0&size=1"), "/articles");
+        assertStatements(mockMvc, 1, get("/articles?cursor=" + cursor + "&size=1")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void categoryPageHandsOverToTheFeed() throws Exception {
+        String cursor = olderArticlesCursor(authenticated(get("/category/" + CATEGORY + "?page=0&size=1")),
+                "/category/" + CATEGORY);
+        assertStatements(mockMvc, 1, authenticated(get("/category/" + CATEGORY + "?cursor=" + cursor + "&size=1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(authenticated(get("/category/" + CATEGORY + "?cursor=garbage")))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/category/" + CATEGORY));
+    }
+
+    @Test
+    public void searchPageLoadsOnePageOfSummaries() throws Exception {
+        assertStatements(mockMvc, 1, authenticated(get("/search?q=apple"))).andExpect(status().isOk());
+    }
+
+    // CategoryRestController
+
+    @Test
+    public void categoriesRunNoQuery() throws Exception {
+        assertStatements(mockMvc, 0, get("/api/categories")).andExpect(status().isOk());
+        assertStatements(mockMvc, 0, get("/api/categories/" + CATEGORY)).andExpect(status().isOk());
+    }
+
+    // StudentRestController
+
+    @Test
+    public void studentListIsOneQueryWhenThePageIsNotFull() throws Exception {
+        assertStatements(mockMvc, 1, authenticated(get("/api/students?page=0&size=10"))).andExpect(status().isOk());
+        assertStatements(mockMvc, 1, authenticated(get("/api/students?name=Kim"))).andExpect(status().isOk());
+    }
+
+    @Test
+    public void studentLookupsAreOneQuery() throws Exception {
+        assertStatements(mockMvc, 1, authenticated(get("/api/students/" + student.getId())))
+                .andExpect(status().isOk());
+        assertStatements(mockMvc, 1, authenticated(get("/api/students/email/" + student.getEmail())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void createStudentChecksEmailThenInserts() throws Exception {
+        assertStatements(mockMvc, 2, authenticated(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Park Seoyeon\",\"email\":\"seoyeon@example.com\"}")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    public void updateStudentWithSameEmailLoadsThenUpdates() throws Exception {
+        assertStatements(mockMvc, 2, authenticated(put("/api/students/" + student.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Kim Minji (renamed)\",\"email\":\"minji@example.com\"}")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void deleteStudentChecksLoadsThenDeletes() throws Exception {
+        assertStatements(mockMvc, 3, authenticated(delete("/api/students/" + student.getId())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void importChecksAndInsertsEachChunkInTwoStatements() throws Exception {
+        String csv = "email,name\n"
+                + "seoyeon@example.com,Park Seoyeon\n"
+                + "minji@example.com,Kim Minji\n"
+                + "\"haneul@example.com\",\"Choi, Haneul\"\n"
+                + "HANEUL@example.com,Choi Haneul\n"
+                + "not-an-email,Jung Yuna\n";
+        MockMultipartFile file = new MockMultipartFile("file", "roster.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // One existence query and one insert batch for the single chunk
+        assertStatements(mockMvc, 2, authenticated(multipart("/api/students/import").file(file)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[2].line").value(6));
+    }
+
+    private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.with(user("admin").roles("ADMIN"));
+    }
+
+    private String olderArticlesCursor(MockHttpServletRequestBuilder request, String path) throws Exception {
+        String html = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        Matcher link = Pattern.compile("href=\"" + Pattern.quote(path) + "\\?cursor=([\\w-]+)&amp;size=1\"").matcher(html);
+        assertTrue(link.find(), "page links into the feed and keeps its size");
+        return link.group(1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.handong.internationalmedia.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ArticleSummaryDtoTest {
+
+    @Test
+    public void excerptPrefersTheSummary() {
+        ArticleSummaryDto dto = ArticleSummaryDto.builder().summary("Short summary").build();
+
+        assertEquals("Short summary", dto.getExcerpt());
+        assertNull(ArticleSummaryDto.previewOf("Short summary", "Body"));
+    }
+
+    @Test
+    public void excerptFallsBackToTheStartOfTheBody() {
+        String body = "x".repeat(400);
+        ArticleSummaryDto dto = ArticleSummaryDto.builder()
+                .contentPreview(ArticleSummaryDto.previewOf(null, body))
+                .build();
+
+        assertEquals("x".repeat(ArticleSummaryDto.EXCERPT_LENGTH) + "...", dto.getExcerpt());
+    }
+
+    @Test
+    public void shortBodyIsShownWhole() {
+        String body = "x".repeat(ArticleSummaryDto.EXCERPT_LENGTH);
+        ArticleSummaryDto dto = ArticleSummaryDto.builder().contentPreview(body).build();
+
+        assertEquals(body, dto.getExcerpt());
+        assertNull(ArticleSummaryDto.builder().build().getExcerpt());
+    }
+}
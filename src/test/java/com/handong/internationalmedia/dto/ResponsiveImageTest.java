@@ -0,0 +1,28 @@
+package com.handong.internationalmedia.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponsiveImageTest {
+
+    @Test
+    public void versionIsAStableSha256Prefix() {
+        // SHA-256("abc") starts with ba7816bf8f01cfea
+        assertEquals("ba7816bf8f01cfea", ResponsiveImage.version("abc"));
+    }
+
+    @Test
+    public void urlsWithHashCollidingSourcesDiffer() {
+        // "Aa" and "BB" share a String.hashCode()
+        assertNotEquals(ResponsiveImage.version("Aa"), ResponsiveImage.version("BB"));
+    }
+
+    @Test
+    public void urlCarriesWidthAndVersion() {
+        assertEquals("/img/7?w=320&v=" + ResponsiveImage.version("/a.jpg"), ResponsiveImage.url(7L, "/a.jpg", 320));
+        assertNull(ResponsiveImage.url(7L, " ", 320));
+    }
+}
@@ -0,0 +1,76 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArticleCountProviderTest {
+
+    private static final Long NEWS = 10L;
+    private static final Long SPORTS = 20L;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ArticleCountProvider counts = new ArticleCountProvider(articleRepository);
+
+    @Test
+    public void eventsAdjustLoadedCounts() {
+        when(articleRepository.countPublishedByCategory()).thenReturn(List.<Object[]>of(row(NEWS, 3), row(null, 1)));
+        counts.reload();
+
+        counts.onArticleChanged(created(5L, NEWS));
+        counts.onArticleChanged(new ArticleChangedEvent(1L, ArticleChangedEvent.Type.UPDATED,
+                NEWS, SPORTS, true, true));
+
+        assertEquals(5, counts.getPublishedCount());
+        assertEquals(3, counts.getPublishedCount(NEWS));
+        assertEquals(1, counts.getPublishedCount(SPORTS));
+    }
+
+    @Test
+    public void changeCommittedDuringReloadIsCountedOnce() {
+        when(articleRepository.countPublishedByCategory()).thenReturn(List.<Object[]>of(row(NEWS, 3)));
+        counts.reload();
+        when(articleRepository.countPublishedByCategory())
+                .thenAnswer(invocation -> {
+                    // The new article is already in this snapshot, and its event lands mid-query
+                    counts.onArticleChanged(created(4L, NEWS));
+                    return List.<Object[]>of(row(NEWS, 4));
+                })
+                .thenReturn(List.<Object[]>of(row(NEWS, 4)));
+
+        counts.reload();
+
+        assertEquals(4, counts.getPublishedCount());
+        assertEquals(4, counts.getPublishedCount(NEWS));
+        verify(articleRepository, times(3)).countPublishedByCategory();
+    }
+
+    @Test
+    public void reloadUnderConstantChurnKeepsTheLastSnapshot() {
+        when(articleRepository.countPublishedByCategory()).thenAnswer(invocation -> {
+            counts.onArticleChanged(created(4L, NEWS));
+            return List.<Object[]>of(row(NEWS, 4));
+        });
+
+        counts.reload();
+
+        assertEquals(4, counts.getPublishedCount(NEWS));
+        verify(articleRepository, times(3)).countPublishedByCategory();
+    }
+
+    private static ArticleChangedEvent created(Long id, Long categoryId) {
+        return new ArticleChangedEvent(id, ArticleChangedEvent.Type.CREATED, null, categoryId, false, true);
+    }
+
+    private static Object[] row(Long categoryId, long count) {
+        return new Object[]{categoryId, count};
+    }
+}
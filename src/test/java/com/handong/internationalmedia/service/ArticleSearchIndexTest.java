@@ -0,0 +1,82 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArticleSearchIndexTest {
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new ArticleSearchIndex(mock(ArticleRepository.class), 30000);
+        index.index(article(1L, "한동대 국제 미디어", "Campus news", "Students report on campus life."));
+        index.index(article(2L, "Spring festival", "한국 음식 축제", "Food trucks and music on campus."));
+        index.index(article(3L, "Campus campus campus", null, "Campus."));
+    }
+
+    @Test
+    public void everyQueryTermMustMatch() {
+        assertEquals(List.of(2L), index.search("campus festival"));
+        assertEquals(List.of(), index.search("campus election"));
+    }
+
+    @Test
+    public void titleMatchesOutrankBodyMatches() {
+        assertEquals(List.of(3L, 1L, 2L), index.search("campus"));
+    }
+
+    @Test
+    public void oneSyllableHangulQueryMatchesInsideLongerWords() {
+        assertEquals(List.of(1L, 2L), index.search("한").stream().sorted().toList());
+        assertEquals(List.of(1L), index.search("한동"));
+        assertEquals(List.of(2L), index.search("축제"));
+    }
+
+    @Test
+    public void unpublishingRemovesFromResults() {
+        Article hidden = article(2L, "Spring festival", null, null);
+        hidden.setIsPublished(false);
+        index.index(hidden);
+
+        assertEquals(List.of(), index.search("festival"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void rebuildSwapsInTheLoadedIndexAndKeepsChangesMadeWhileLoading() {
+        ArticleRepository repository = mock(ArticleRepository.class);
+        ArticleSearchIndex rebuilt = new ArticleSearchIndex(repository, 30000);
+        rebuilt.index(article(9L, "Stale festival", null, null));
+        when(repository.findByIsPublishedTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    // Searches still see the old index while the batch loads
+                    assertEquals(List.of(9L), rebuilt.search("festival"));
+                    // Unpublished after this batch was read
+                    rebuilt.remove(2L);
+                    return List.of(article(1L, "Campus festival", null, null), article(2L, "Spring festival", null, null));
+                });
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(1L), rebuilt.search("festival"));
+        assertEquals(1, rebuilt.size());
+    }
+
+    private static Article article(Long id, String title, String summary, String content) {
+        Article article = Article.builder().title(title).summary(summary).content(content).isPublished(true).build();
+        article.setId(id);
+        return article;
+    }
+}
@@ -0,0 +1,53 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Category;
+import com.handong.internationalmedia.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CategoryRegistryTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryRegistry registry = new CategoryRegistry(categoryRepository);
+
+    @Test
+    public void servesActiveCategoriesInDisplayOrderFromOneLoad() {
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                category(1L, "Sports", 2, true),
+                category(2L, "National", 1, true),
+                category(3L, "Archive", 0, false)));
+
+        assertEquals(List.of("National", "Sports"),
+                registry.getActiveCategories().stream().map(CategoryRegistry.CategoryView::getName).toList());
+        assertEquals(2L, registry.findByName(" national ").orElseThrow().getId());
+        assertEquals("Archive", registry.findById(3L).orElseThrow().getName());
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void entitiesForAssignmentAreNeverShared() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Sports", 1, true)));
+
+        Category first = registry.newDetachedByName("Sports").orElseThrow();
+        first.setName("Renamed");
+        Category second = registry.newDetachedByName("Sports").orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals("Sports", second.getName());
+        assertEquals("Sports", registry.findById(1L).orElseThrow().getName());
+        assertTrue(registry.newDetachedByName("Renamed").isEmpty());
+    }
+
+    private static Category category(Long id, String name, int displayOrder, boolean active) {
+        return Category.builder().id(id).name(name).displayOrder(displayOrder).isActive(active).build();
+    }
+}
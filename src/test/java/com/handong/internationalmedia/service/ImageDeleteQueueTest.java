@@ -0,0 +1,231 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.ImageDeleteTask;
+import com.handong.internationalmedia.repository.ImageBlobRepository;
+import com.handong.internationalmedia.repository.ImageDeleteTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImageDeleteQueueTest {
+
+    private final ImageDeleteTaskRepository taskRepository = mock(ImageDeleteTaskRepository.class);
+    private final ImageBlobRepository blobRepository = mock(ImageBlobRepository.class);
+    private final ImageStore imageStore = mock(ImageStore.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    /** The task table, by id. */
+    private final Map<Long, ImageDeleteTask> rows = new TreeMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(taskRepository.save(any(ImageDeleteTask.class))).thenAnswer(invocation -> {
+            ImageDeleteTask task = invocation.getArgument(0);
+            task.setId((long) rows.size() + 1);
+            rows.put(task.getId(), task);
+            return task;
+        });
+        when(taskRepository.findDueIds(any(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            ImageDeleteTask.Status status = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            return rows.values().stream()
+                    .filter(task -> task.getStatus() == status && !task.getNextAttemptAt().isAfter(now))
+                    .map(ImageDeleteTask::getId)
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(taskRepository.transition(anyCollection(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            int changed = 0;
+            for (Long id : ids) {
+                ImageDeleteTask task = rows.get(id);
+                if (task != null && task.getStatus() == invocation.getArgument(1)) {
+                    task.setStatus(invocation.getArgument(2));
+                    changed++;
+                }
+            }
+            return changed;
+        });
+        when(taskRepository.findByIdInAndStatus(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(rows::get)
+                    .filter(task -> task != null && task.getStatus() == invocation.getArgument(1))
+                    .toList();
+        });
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<ImageDeleteTask> found = new ArrayList<>();
+            ids.forEach(id -> found.add(rows.get(id)));
+            return found;
+        });
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(rows::remove);
+            return null;
+        }).when(taskRepository).deleteAllByIdInBatch(any());
+        when(taskRepository.requeue(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            ImageDeleteTask task = rows.get(invocation.<Long>getArgument(0));
+            if (task == null || task.getStatus() != invocation.getArgument(1)) {
+                return 0;
+            }
+            task.setStatus(invocation.getArgument(2));
+            task.setAttempts(0);
+            task.setNextAttemptAt(invocation.getArgument(3));
+            return 1;
+        });
+    }
+
+    @Test
+    public void drainDeletesQueuedImagesInOneCallAndDropsTheRows() throws IOException {
+        ImageDeleteQueue queue = queue(10, 3);
+        queue.enqueue("https://img/a.jpg");
+        queue.enqueue("https://img/b.jpg");
+
+        queue.drain();
+
+        verify(imageStore).deleteAll(List.of("https://img/a.jpg", "https://img/b.jpg"));
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    public void imageUploadedAgainAfterQueueingIsKept() throws IOException {
+        ImageDeleteQueue queue = queue(10, 3);
+        queue.enqueue("https://img/a.jpg");
+        queue.enqueue("https://img/b.jpg");
+        when(blobRepository.findUrlsByUrlIn(any())).thenReturn(List.of("https://img/a.jpg"));
+
+        queue.drain();
+
+        verify(imageStore).deleteAll(List.of("https://img/b.jpg"));
+        verify(blobRepository, times(1)).findUrlsByUrlIn(List.of("https://img/a.jpg", "https://img/b.jpg"));
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    public void blobRowsStayLockedUntilTheStoreDeleteReturns() throws IOException {
+        ImageDeleteQueue queue = queue(10, 3);
+        queue.enqueue("https://img/a.jpg");
+        queue.enqueue("https://img/b.jpg");
+        TransactionStatus deleting = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any()))
+                .thenReturn(mock(TransactionStatus.class), deleting);
+
+        queue.drain();
+
+        List<String> urls = List.of("https://img/a.jpg", "https://img/b.jpg");
+        InOrder order = inOrder(blobRepository, imageStore, taskRepository, transactionManager);
+        order.verify(blobRepository).deleteUnreferencedByUrlIn(urls);
+        order.verify(blobRepository).findUrlsByUrlIn(urls);
+        order.verify(imageStore).deleteAll(urls);
+        order.verify(taskRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        order.verify(transactionManager).commit(deleting);
+    }
+
+    @Test
+    public void failedStoreDeleteRollsBackTheBlobRows() throws IOException {
+        ImageDeleteQueue queue = queue(10, 3);
+        queue.enqueue("https://img/a.jpg");
+        TransactionStatus deleting = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any()))
+                .thenReturn(mock(TransactionStatus.class), deleting, mock(TransactionStatus.class));
+        doThrow(new IOException("image host unavailable")).when(imageStore).deleteAll(any());
+
+        queue.drain();
+
+        verify(transactionManager).rollback(deleting);
+        verify(transactionManager, never()).commit(deleting);
+        assertEquals(ImageDeleteTask.Status.PENDING, rows.get(1L).getStatus());
+    }
+
+    @Test
+    public void fullBatchesKeepDraining() throws IOException {
+        ImageDeleteQueue queue = queue(2, 3);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue("https://img/" + i + ".jpg");
+        }
+
+        queue.drain();
+
+        verify(imageStore, times(3)).deleteAll(any());
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    public void failedBatchIsRetriedWithBackoff() throws IOException {
+        ImageDeleteQueue queue = queue(10, 3);
+        queue.enqueue("https://img/a.jpg");
+        doThrow(new IOException("image host unavailable")).when(imageStore).deleteAll(any());
+
+        queue.drain();
+
+        ImageDeleteTask task = rows.get(1L);
+        assertEquals(ImageDeleteTask.Status.PENDING, task.getStatus());
+        assertEquals(1, task.getAttempts());
+        assertEquals("image host unavailable", task.getLastError());
+        assertTrue(task.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Not due yet, so the next run leaves it alone
+        queue.drain();
+        verify(imageStore, times(1)).deleteAll(any());
+    }
+
+    @Test
+    public void exhaustedTaskIsDeadLetteredAndCanBeRequeued() throws IOException {
+        ImageDeleteQueue queue = queue(10, 1);
+        queue.enqueue("https://img/a.jpg");
+        doThrow(new IOException("image host unavailable")).when(imageStore).deleteAll(any());
+
+        queue.drain();
+
+        ImageDeleteTask task = rows.get(1L);
+        assertEquals(ImageDeleteTask.Status.FAILED, task.getStatus());
+        assertFalse(queue.retry(2L));
+        assertTrue(queue.retry(1L));
+        assertEquals(ImageDeleteTask.Status.PENDING, task.getStatus());
+        assertEquals(0, task.getAttempts());
+        assertFalse(queue.retry(1L));
+    }
+
+    @Test
+    public void interruptedDeletionsAreRequeuedOnStartup() {
+        ImageDeleteQueue queue = queue(10, 3);
+
+        queue.recoverInterrupted();
+
+        verify(taskRepository).transitionAll(ImageDeleteTask.Status.IN_PROGRESS, ImageDeleteTask.Status.PENDING);
+    }
+
+    private ImageDeleteQueue queue(int batchSize, int maxAttempts) {
+        return new ImageDeleteQueue(taskRepository, blobRepository, imageStore, new SimpleMeterRegistry(),
+                transactionManager, batchSize, maxAttempts, 60_000, 3_600_000);
+    }
+}
@@ -0,0 +1,62 @@
+package com.handong.internationalmedia.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ImageResizerTest {
+
+    @Test
+    public void downscalesToTheTargetWidthKeepingAspectRatio() throws IOException {
+        BufferedImage resized = decode(new ImageResizer(40_000_000).resize(png(2400, 1200), 640));
+
+        assertEquals(640, resized.getWidth());
+        assertEquals(320, resized.getHeight());
+    }
+
+    @Test
+    public void neverUpscales() throws IOException {
+        BufferedImage resized = decode(new ImageResizer(40_000_000).resize(png(300, 200), 1280));
+
+        assertEquals(300, resized.getWidth());
+        assertEquals(200, resized.getHeight());
+    }
+
+    @Test
+    public void outputIsJpeg() throws IOException {
+        byte[] body = new ImageResizer(40_000_000).resize(png(100, 100), 64);
+
+        assertEquals((byte) 0xFF, body[0]);
+        assertEquals((byte) 0xD8, body[1]);
+    }
+
+    @Test
+    public void rejectsSourcesOverThePixelLimit() throws IOException {
+        byte[] source = png(1000, 1000);
+
+        assertThrows(IOException.class, () -> new ImageResizer(999_999).resize(source, 320));
+    }
+
+    @Test
+    public void rejectsBytesThatAreNotAnImage() {
+        assertThrows(IOException.class, () -> new ImageResizer(40_000_000).resize(new byte[]{1, 2, 3}, 320));
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] body) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,212 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.entity.ImageUploadTask;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import com.handong.internationalmedia.repository.ImageUploadTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImageUploadOutboxTest {
+
+    private static final Long ARTICLE_ID = 7L;
+
+    private final ImageUploadTaskRepository taskRepository = mock(ImageUploadTaskRepository.class);
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ImageService imageService = mock(ImageService.class);
+    private final UploadSpool uploadSpool = mock(UploadSpool.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @TempDir
+    Path spoolDir;
+
+    private Article article;
+    private ImageUploadOutbox outbox;
+
+    @BeforeEach
+    public void setUp() {
+        article = Article.builder().title("Title").content("Body").isPublished(true)
+                .featuredImage("https://img/old.jpg").imagePending(true).build();
+        article.setId(ARTICLE_ID);
+        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+        when(articleRepository.findWithAuthorAndCategoryById(ARTICLE_ID)).thenReturn(Optional.of(article));
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+    }
+
+    @Test
+    public void successfulUploadSwapsTheImageAndReleasesTheOldOne() throws Exception {
+        outbox = outbox(3);
+        ImageUploadTask task = pendingTask(spooledFile());
+        when(imageService.uploadImage(any(File.class), anyString())).thenReturn("https://img/new.jpg");
+
+        runToCompletion(task);
+
+        assertEquals(ImageUploadTask.Status.DONE, task.getStatus());
+        assertEquals("https://img/new.jpg", article.getFeaturedImage());
+        assertEquals(false, article.getImagePending());
+        verify(imageService).deleteImage("https://img/old.jpg");
+        verify(eventPublisher).publishEvent(any(ArticleChangedEvent.class));
+        verify(uploadSpool, timeout(5000)).delete(Path.of(task.getSpoolPath()));
+    }
+
+    @Test
+    public void failedUploadIsRetriedWithBackoff() throws Exception {
+        outbox = outbox(3);
+        ImageUploadTask task = pendingTask(spooledFile());
+        when(imageService.uploadImage(any(File.class), anyString()))
+                .thenThrow(new IllegalStateException("image host unavailable"));
+
+        runToCompletion(task);
+
+        assertEquals(ImageUploadTask.Status.PENDING, task.getStatus());
+        assertEquals(1, task.getAttempts());
+        assertEquals("image host unavailable", task.getLastError());
+        assertTrue(task.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(true, article.getImagePending());
+        verify(uploadSpool, never()).delete(any());
+    }
+
+    @Test
+    public void lastFailedAttemptFailsTheTask() throws Exception {
+        outbox = outbox(1);
+        ImageUploadTask task = pendingTask(spooledFile());
+        when(imageService.uploadImage(any(File.class), anyString()))
+                .thenThrow(new IllegalStateException("image host unavailable"));
+
+        runToCompletion(task);
+
+        assertEquals(ImageUploadTask.Status.FAILED, task.getStatus());
+        assertEquals(false, article.getImagePending());
+        assertEquals("https://img/old.jpg", article.getFeaturedImage());
+        verify(uploadSpool, timeout(5000)).delete(Path.of(task.getSpoolPath()));
+    }
+
+    @Test
+    public void missingSpoolFileFailsAtOnce() {
+        outbox = outbox(3);
+        ImageUploadTask task = pendingTask(spoolDir.resolve("gone.jpg"));
+
+        runToCompletion(task);
+
+        assertEquals(ImageUploadTask.Status.FAILED, task.getStatus());
+        assertEquals(1, task.getAttempts());
+        assertNotNull(task.getLastError());
+        assertEquals(false, article.getImagePending());
+        verify(imageService, never()).uploadImage(any(File.class), anyString());
+    }
+
+    @Test
+    public void uploadSupersededWhileInFlightIsDiscarded() throws Exception {
+        outbox = outbox(3);
+        ImageUploadTask task = pendingTask(spooledFile());
+        when(imageService.uploadImage(any(File.class), anyString())).thenAnswer(invocation -> {
+            task.setStatus(ImageUploadTask.Status.SUPERSEDED);
+            return "https://img/stale.jpg";
+        });
+
+        runToCompletion(task);
+
+        assertEquals(ImageUploadTask.Status.SUPERSEDED, task.getStatus());
+        assertEquals("https://img/old.jpg", article.getFeaturedImage());
+        verify(imageService).deleteImage("https://img/stale.jpg");
+        verify(uploadSpool, timeout(5000)).delete(Path.of(task.getSpoolPath()));
+    }
+
+    @Test
+    public void enqueueSupersedesAPendingUploadForTheSameArticle() throws Exception {
+        outbox = outbox(3);
+        Path previousFile = spooledFile();
+        ImageUploadTask previous = pendingTask(previousFile);
+        Path nextFile = spoolDir.resolve("next.jpg");
+        when(taskRepository.findByArticleIdAndStatusIn(eq(ARTICLE_ID), any())).thenReturn(List.of(previous));
+        when(uploadSpool.spool(any())).thenReturn(nextFile);
+
+        outbox.enqueue(ARTICLE_ID, new MockMultipartFile("image", "photo.jpg", "image/jpeg", new byte[]{1}));
+
+        assertEquals(ImageUploadTask.Status.SUPERSEDED, previous.getStatus());
+        verify(uploadSpool).delete(previousFile);
+        verify(taskRepository).save(argThat(task ->
+                task.getStatus() == ImageUploadTask.Status.PENDING
+                        && task.getSpoolPath().equals(nextFile.toString())
+                        && task.getAttempts() == 0));
+    }
+
+    private ImageUploadOutbox outbox(int maxAttempts) {
+        return new ImageUploadOutbox(taskRepository, articleRepository, imageService, mock(RelatedArticles.class),
+                uploadSpool, eventPublisher, transactionManager, 1, maxAttempts, 60_000, 300_000);
+    }
+
+    private Path spooledFile() throws Exception {
+        return Files.write(Files.createTempFile(spoolDir, "upload", ".jpg"), new byte[]{1, 2, 3});
+    }
+
+    private ImageUploadTask pendingTask(Path spoolPath) {
+        ImageUploadTask task = ImageUploadTask.builder()
+                .id(1L)
+                .articleId(ARTICLE_ID)
+                .spoolPath(spoolPath.toString())
+                .originalFilename("photo.jpg")
+                .status(ImageUploadTask.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskRepository.transition(eq(task.getId()), any(), any(), any())).thenAnswer(invocation -> {
+            if (task.getStatus() != invocation.getArgument(1)) {
+                return 0;
+            }
+            task.setStatus(invocation.getArgument(2));
+            return 1;
+        });
+        return task;
+    }
+
+    /**
+     * Polls once and waits for the worker: the claim and the outcome each commit one
+     * transaction.
+     */
+    private void runToCompletion(ImageUploadTask task) {
+        when(taskRepository.findDue(eq(ImageUploadTask.Status.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(task));
+        outbox.poll();
+        verify(taskRepository).transition(eq(task.getId()), eq(ImageUploadTask.Status.PENDING),
+                eq(ImageUploadTask.Status.IN_PROGRESS), any());
+        verify(transactionManager, timeout(5000).times(2)).commit(any());
+    }
+}
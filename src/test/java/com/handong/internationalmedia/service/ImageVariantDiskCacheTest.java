@@ -0,0 +1,63 @@
+package com.handong.internationalmedia.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImageVariantDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void evictsTheLeastRecentlyUsedVariantOverBudget() {
+        ImageVariantDiskCache cache = new ImageVariantDiskCache(directory.toString(), 25);
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[10]);
+        // Touch a so b is the eldest
+        assertArrayEquals(new byte[10], cache.get("a"));
+
+        cache.put("c", new byte[10]);
+
+        assertArrayEquals(new byte[10], cache.get("a"));
+        assertNull(cache.get("b"));
+        assertArrayEquals(new byte[10], cache.get("c"));
+        assertFalse(Files.exists(directory.resolve("b.variant")));
+    }
+
+    @Test
+    public void skipsVariantsLargerThanTheBudget() {
+        ImageVariantDiskCache cache = new ImageVariantDiskCache(directory.toString(), 8);
+        cache.put("big", new byte[9]);
+
+        assertNull(cache.get("big"));
+        assertFalse(Files.exists(directory.resolve("big.variant")));
+    }
+
+    @Test
+    public void survivesARestart() {
+        new ImageVariantDiskCache(directory.toString(), 100).put("kept", new byte[]{7});
+
+        ImageVariantDiskCache reopened = new ImageVariantDiskCache(directory.toString(), 100);
+
+        assertArrayEquals(new byte[]{7}, reopened.get("kept"));
+    }
+
+    @Test
+    public void forgetsFilesDeletedBehindItsBack() throws Exception {
+        ImageVariantDiskCache cache = new ImageVariantDiskCache(directory.toString(), 100);
+        cache.put("gone", new byte[]{1});
+        Files.delete(directory.resolve("gone.variant"));
+
+        assertNull(cache.get("gone"));
+        cache.put("other", new byte[99]);
+        assertTrue(Files.exists(directory.resolve("other.variant")));
+    }
+}
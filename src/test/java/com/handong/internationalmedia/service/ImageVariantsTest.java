@@ -0,0 +1,167 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ResponsiveImage;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageVariantsTest {
+
+    private static final Long ARTICLE_ID = 1L;
+    private static final String SOURCE = "/uploads/cover.png";
+
+    @TempDir
+    Path directory;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ImageStore imageStore = mock(ImageStore.class);
+    private CountingDiskCache diskCache;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path original = directory.resolve("cover.png");
+        Files.write(original, ImageResizerTest.png(1000, 500));
+        when(imageStore.resolveLocal(SOURCE)).thenReturn(Optional.of(original));
+        when(articleRepository.findFeaturedImageById(ARTICLE_ID)).thenReturn(Optional.of(SOURCE));
+        diskCache = new CountingDiskCache(directory.resolve("variants"));
+    }
+
+    @Test
+    public void memoryHitWithTheCurrentVersionSkipsTheDatabase() {
+        ImageVariants variants = variants(1 << 20);
+        String version = ResponsiveImage.version(SOURCE);
+
+        ImageVariants.Variant first = variants.get(ARTICLE_ID, version, 320).orElseThrow();
+        when(articleRepository.findFeaturedImageById(anyLong())).thenThrow(new AssertionError("database hit"));
+        ImageVariants.Variant second = variants.get(ARTICLE_ID, version, 320).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(version, first.getVersion());
+        assertEquals(1, diskCache.puts.get());
+    }
+
+    @Test
+    public void staleVersionResolvesTheCurrentSource() {
+        ImageVariants variants = variants(1 << 20);
+
+        ImageVariants.Variant variant = variants.get(ARTICLE_ID, "stale", 320).orElseThrow();
+
+        assertEquals(ResponsiveImage.version(SOURCE), variant.getVersion());
+    }
+
+    @Test
+    public void memoryEvictionFallsBackToTheDiskTier() {
+        // Too small for any variant, so every lookup goes to disk
+        ImageVariants variants = variants(1);
+        String version = ResponsiveImage.version(SOURCE);
+
+        variants.get(ARTICLE_ID, version, 320).orElseThrow();
+        variants.get(ARTICLE_ID, version, 320).orElseThrow();
+
+        assertEquals(1, diskCache.puts.get());
+        assertEquals(2, diskCache.gets.get());
+    }
+
+    @Test
+    public void deletedArticlesAreEvictedFromMemory() {
+        ImageVariants variants = variants(1 << 20);
+        String version = ResponsiveImage.version(SOURCE);
+        variants.get(ARTICLE_ID, version, 320).orElseThrow();
+
+        variants.onArticleChanged(new ArticleChangedEvent(ARTICLE_ID, ArticleChangedEvent.Type.DELETED,
+                null, null, true, false));
+        when(articleRepository.findFeaturedImageById(ARTICLE_ID)).thenReturn(Optional.empty());
+
+        assertTrue(variants.get(ARTICLE_ID, version, 320).isEmpty());
+    }
+
+    @Test
+    public void concurrentMissesShareOneResize() throws Exception {
+        int callers = 8;
+        // No memory tier, so only single-flight can stop the followers from resizing again
+        ImageVariants variants = variants(1);
+        CountDownLatch resolved = new CountDownLatch(callers);
+        when(articleRepository.findFeaturedImageById(ARTICLE_ID)).thenAnswer(invocation -> {
+            resolved.countDown();
+            return Optional.of(SOURCE);
+        });
+        diskCache.beforeLoad = () -> {
+            // Hold the leader until every caller has looked up the source and joined
+            resolved.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ImageVariants.Variant>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> variants.get(ARTICLE_ID, "v", 480).orElseThrow()));
+            }
+            ImageVariants.Variant first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ImageVariants.Variant> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, diskCache.gets.get());
+        assertEquals(1, diskCache.puts.get());
+    }
+
+    private ImageVariants variants(long memoryMaxBytes) {
+        return new ImageVariants(articleRepository, diskCache, imageStore, memoryMaxBytes, 2,
+                20_971_520, 40_000_000, 1000);
+    }
+
+    private static final class CountingDiskCache extends ImageVariantDiskCache {
+        private final AtomicInteger gets = new AtomicInteger();
+        private final AtomicInteger puts = new AtomicInteger();
+        private volatile Interruptible beforeLoad = () -> { };
+
+        private CountingDiskCache(Path directory) {
+            super(directory.toString(), 1 << 20);
+        }
+
+        @Override
+        public byte[] get(String key) {
+            gets.incrementAndGet();
+            try {
+                beforeLoad.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] body) {
+            puts.incrementAndGet();
+            super.put(key, body);
+        }
+    }
+
+    private interface Interruptible {
+        void run() throws InterruptedException;
+    }
+}
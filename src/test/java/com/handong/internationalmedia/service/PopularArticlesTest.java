@@ -0,0 +1,145 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PopularArticlesTest {
+
+    private static final Long NEWS = 10L;
+    private static final Long SPORTS = 20L;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    @Test
+    public void topIsEmptyUntilSeededAndNeverQueries() {
+        PopularArticles popular = new PopularArticles(articleRepository, 2);
+
+        assertEquals(List.of(), popular.top(5, null));
+        popular.publishIfDirty();
+        verify(articleRepository, never()).findPublishedViewCounts();
+    }
+
+    @Test
+    public void viewsAreAppliedOnTheNextTick() {
+        PopularArticles popular = seeded(3, row(1L, NEWS, 5L), row(2L, NEWS, 4L), row(3L, SPORTS, 1L));
+        assertEquals(List.of(1L, 2L, 3L), popular.top(3, null));
+
+        for (int i = 0; i < 5; i++) {
+            popular.recordView(3L);
+        }
+        popular.recordView(99L);
+        assertEquals(List.of(1L, 2L, 3L), popular.top(3, null));
+
+        popular.publishIfDirty();
+        assertEquals(List.of(3L, 1L, 2L), popular.top(3, null));
+        assertEquals(List.of(3L), popular.top(3, SPORTS));
+        assertEquals(List.of(3L), popular.top(1, null));
+    }
+
+    @Test
+    public void concurrentViewsAreAllCounted() throws Exception {
+        PopularArticles popular = seeded(2, row(1L, NEWS, 0L), row(2L, NEWS, 1000L));
+        int threads = 8;
+        int viewsPerThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        popular.recordView(1L);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        while (workers.stream().anyMatch(Thread::isAlive)) {
+            popular.publishIfDirty();
+        }
+        popular.publishIfDirty();
+
+        // 4000 views put article 1 ahead of article 2's 1000
+        assertEquals(List.of(1L, 2L), popular.top(2, null));
+        popular.onArticleChanged(new ArticleChangedEvent(2L, ArticleChangedEvent.Type.UPDATED,
+                NEWS, NEWS, true, true));
+        popular.onArticleChanged(new ArticleChangedEvent(3L, ArticleChangedEvent.Type.CREATED,
+                null, NEWS, false, true));
+        for (int i = 0; i < 3001; i++) {
+            popular.recordView(3L);
+        }
+        popular.publishIfDirty();
+        assertEquals(List.of(1L, 3L), popular.top(2, null));
+    }
+
+    @Test
+    public void unpublishingAMemberOfAFullScopeRefillsIt() {
+        PopularArticles popular = seeded(2, row(1L, NEWS, 9L), row(2L, NEWS, 8L), row(3L, NEWS, 7L));
+        assertEquals(List.of(1L, 2L), popular.top(2, NEWS));
+
+        popular.onArticleChanged(new ArticleChangedEvent(1L, ArticleChangedEvent.Type.UPDATED,
+                NEWS, NEWS, true, false));
+
+        assertEquals(List.of(2L, 3L), popular.top(2, NEWS));
+        assertEquals(List.of(2L, 3L), popular.top(2, null));
+    }
+
+    @Test
+    public void movingCategoryKeepsViewsAndRanksInTheNewScope() {
+        PopularArticles popular = seeded(2, row(1L, NEWS, 9L), row(2L, SPORTS, 3L), row(3L, NEWS, 1L));
+
+        popular.onArticleChanged(new ArticleChangedEvent(1L, ArticleChangedEvent.Type.UPDATED,
+                NEWS, SPORTS, true, true));
+
+        assertEquals(List.of(1L, 2L), popular.top(2, SPORTS));
+        assertEquals(List.of(3L), popular.top(2, NEWS));
+        assertEquals(List.of(1L, 2L), popular.top(2, null));
+    }
+
+    @Test
+    public void failedStartupSeedIsRetriedOnTheTick() {
+        when(articleRepository.findPublishedViewCounts())
+                .thenThrow(new IllegalStateException("database not ready"))
+                .thenReturn(List.<Object[]>of(row(1L, NEWS, 1L)));
+        PopularArticles popular = new PopularArticles(articleRepository, 2);
+
+        try {
+            popular.seed();
+        } catch (IllegalStateException expected) {
+            // Startup listener failure
+        }
+        assertTrue(popular.top(1, null).isEmpty());
+
+        popular.publishIfDirty();
+        assertEquals(List.of(1L), popular.top(1, null));
+        verify(articleRepository, times(2)).findPublishedViewCounts();
+    }
+
+    private PopularArticles seeded(int capacity, Object[]... rows) {
+        when(articleRepository.findPublishedViewCounts()).thenReturn(List.of(rows));
+        PopularArticles popular = new PopularArticles(articleRepository, capacity);
+        popular.seed();
+        return popular;
+    }
+
+    private static Object[] row(Long id, Long categoryId, Long views) {
+        return new Object[]{id, categoryId, views};
+    }
+}
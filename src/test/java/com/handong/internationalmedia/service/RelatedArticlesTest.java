@@ -0,0 +1,144 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.entity.Article;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RelatedArticlesTest {
+
+    private static final Long NEWS = 10L;
+    private static final Long SPORTS = 20L;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    @Test
+    public void articlesSharingTermsAreRelatedBothWays() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 8);
+        put(related, 1L, null, "election", "seoul");
+        put(related, 2L, null, "election", "busan");
+        put(related, 3L, null, "football");
+
+        assertEquals(List.of(2L), related(related, 1L));
+        assertEquals(List.of(1L), related(related, 2L));
+        assertEquals(List.of(), related(related, 3L));
+    }
+
+    @Test
+    public void sharedCategoryBreaksTies() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 8);
+        put(related, 1L, NEWS, "election");
+        put(related, 2L, NEWS, "election");
+        put(related, 3L, SPORTS, "election");
+
+        assertEquals(List.of(2L, 3L), related(related, 1L));
+    }
+
+    @Test
+    public void newArticleDisplacesAWeakerNeighbor() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 1);
+        put(related, 1L, null, "election", "seoul", "mayor");
+        put(related, 2L, null, "election", "weather");
+        assertEquals(List.of(2L), related(related, 1L));
+
+        put(related, 3L, null, "election", "seoul", "mayor");
+
+        assertEquals(List.of(3L), related(related, 1L));
+        assertEquals(List.of(1L), related(related, 2L));
+    }
+
+    @Test
+    public void removingANeighborRescoresTheArticlesThatListedIt() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 1);
+        put(related, 1L, null, "election", "seoul", "mayor");
+        put(related, 2L, null, "election", "seoul", "mayor");
+        put(related, 3L, null, "election", "weather");
+        assertEquals(List.of(2L), related(related, 1L));
+
+        related.remove(2L);
+
+        assertEquals(List.of(3L), related(related, 1L));
+        assertEquals(List.of(), related(related, 2L));
+    }
+
+    @Test
+    public void updatingAnArticleRescoresItsFormerNeighbors() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 1);
+        put(related, 1L, null, "election", "seoul", "mayor");
+        put(related, 2L, null, "election", "seoul", "mayor");
+        put(related, 3L, null, "election", "weather");
+        assertEquals(List.of(2L), related(related, 1L));
+
+        put(related, 2L, null, "football", "league");
+
+        assertEquals(List.of(3L), related(related, 1L));
+        assertEquals(List.of(), related(related, 2L));
+    }
+
+    @Test
+    public void removedArticlesNoLongerCountTowardsDocumentFrequency() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 8);
+        put(related, 1L, null, "banana");
+        put(related, 2L, null, "apple");
+        for (long filler = 3; filler <= 6; filler++) {
+            put(related, filler, null, "apple", "filler" + filler);
+        }
+        // apple is common, so sharing banana counts for more
+        put(related, 10L, null, "apple", "banana");
+        assertEquals(List.of(1L, 2L), related(related, 10L).subList(0, 2));
+
+        for (long filler = 3; filler <= 6; filler++) {
+            related.remove(filler);
+        }
+        put(related, 10L, null, "apple", "banana");
+
+        // Both terms are now equally rare; the tie goes to the newer id
+        assertEquals(List.of(2L, 1L), related(related, 10L));
+    }
+
+    @Test
+    public void rebuildKeepsChangesThatLandWhileLoading() {
+        RelatedArticles related = new RelatedArticles(articleRepository, 8);
+        when(articleRepository.findByIsPublishedTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            // Committed after the page was read: 3 is new and 2 was unpublished
+            put(related, 3L, null, "election", "seoul");
+            related.remove(2L);
+            return List.of(article(1L, "election seoul"), article(2L, "election seoul"));
+        });
+
+        related.rebuild();
+
+        assertEquals(List.of(3L), related(related, 1L));
+        assertEquals(List.of(1L), related(related, 3L));
+        assertEquals(List.of(), related(related, 2L));
+    }
+
+    private static void put(RelatedArticles related, Long id, Long categoryId, String... terms) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        related.put(id, frequencies, categoryId, ArticleSummaryDto.builder().id(id).build());
+    }
+
+    private static List<Long> related(RelatedArticles related, Long id) {
+        return related.getRelated(id, 8).stream().map(ArticleSummaryDto::getId).toList();
+    }
+
+    private static Article article(Long id, String title) {
+        Article article = Article.builder().title(title).content("").isPublished(true).build();
+        article.setId(id);
+        return article;
+    }
+}
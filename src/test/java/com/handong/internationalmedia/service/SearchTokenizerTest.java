@@ -0,0 +1,46 @@
+package com.handong.internationalmedia.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchTokenizerTest {
+
+    @Test
+    public void latinWordsAreLowercasedWholeWords() {
+        assertEquals(List.of("spring", "boot", "3", "2", "release"),
+                SearchTokenizer.tokenize("Spring Boot 3.2 release!"));
+    }
+
+    @Test
+    public void hangulRunsIndexBigramsAndUnigrams() {
+        assertEquals(List.of("한동", "동대", "한", "동", "대"), SearchTokenizer.tokenize("한동대"));
+    }
+
+    @Test
+    public void hangulQueriesUseBigramsUnlessOneSyllable() {
+        assertEquals(List.of("한동", "동대"), SearchTokenizer.tokenizeQuery("한동대"));
+        assertEquals(List.of("한"), SearchTokenizer.tokenizeQuery("한"));
+    }
+
+    @Test
+    public void mixedScriptsSplitAtTheBoundary() {
+        assertEquals(List.of("ai", "기술", "기", "술", "2024"), SearchTokenizer.tokenize("AI기술 2024"));
+        assertEquals(List.of("ai", "기술", "2024"), SearchTokenizer.tokenizeQuery("AI기술 2024"));
+    }
+
+    @Test
+    public void htmlTagsAndEntitiesAreDropped() {
+        assertEquals(List.of("hello", "world"),
+                SearchTokenizer.tokenize("<p class=\"lead\">Hello&nbsp;<b>world</b></p>"));
+    }
+
+    @Test
+    public void blankInputHasNoTokens() {
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+        assertTrue(SearchTokenizer.tokenizeQuery("  ,.!  ").isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.handong.internationalmedia.service;
+
+import com.handong.internationalmedia.dto.ArticleSummaryDto;
+import com.handong.internationalmedia.event.ArticleChangedEvent;
+import com.handong.internationalmedia.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TrendingArticlesTest {
+
+    private static final Long NEWS = 10L;
+    private static final Long SPORTS = 20L;
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    @BeforeEach
+    public void publishedArticles() {
+        // Odd ids are news, even ids are sports
+        when(articleRepository.findPublishedCategoryIdsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new Object[]{id, id % 2 == 1 ? NEWS : SPORTS}).toList();
+        });
+        when(articleRepository.findPublishedSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> ArticleSummaryDto.builder().id(id).build()).toList();
+        });
+    }
+
+    @Test
+    public void recentViewsOutrankOlderOnes() {
+        FixedClockTrending trending = new FixedClockTrending(10);
+        trending.minute = 1000;
+        views(trending, 1L, 10);
+        trending.minute = 1030;
+        views(trending, 3L, 6);
+        views(trending, 2L, 1);
+
+        trending.tick();
+
+        // 10 views from 30 minutes ago decay to about 3.5, below 6 fresh ones
+        assertEquals(List.of(3L, 1L, 2L), ids(trending.getTrending(null)));
+        assertEquals(List.of(3L, 1L), ids(trending.getTrending(NEWS)));
+        assertEquals(List.of(2L), ids(trending.getTrending(SPORTS)));
+    }
+
+    @Test
+    public void viewsOlderThanTheWindowDropOut() {
+        FixedClockTrending trending = new FixedClockTrending(10);
+        trending.minute = 1000;
+        views(trending, 1L, 50);
+        trending.minute = 1059;
+        views(trending, 3L, 1);
+        trending.tick();
+        assertEquals(List.of(1L, 3L), ids(trending.getTrending(null)));
+
+        trending.minute = 1060;
+        trending.tick();
+
+        assertEquals(List.of(3L), ids(trending.getTrending(null)));
+    }
+
+    @Test
+    public void coldestArticlesAreShedToMakeRoom() {
+        FixedClockTrending trending = new FixedClockTrending(4);
+        trending.minute = 1000;
+        for (long id = 1; id <= 4; id++) {
+            views(trending, id, (int) id);
+        }
+        views(trending, 5L, 100);
+        trending.tick();
+
+        // Article 5 arrived while full; the tick keeps the three hottest of the rest
+        assertEquals(List.of(4L, 3L, 2L), ids(trending.getTrending(null)));
+
+        views(trending, 5L, 100);
+        trending.tick();
+        assertEquals(List.of(5L, 4L, 3L), ids(trending.getTrending(null)));
+    }
+
+    @Test
+    public void unpublishedArticlesStopTrending() {
+        FixedClockTrending trending = new FixedClockTrending(10);
+        trending.minute = 1000;
+        views(trending, 1L, 5);
+        views(trending, 3L, 2);
+
+        trending.onArticleChanged(new ArticleChangedEvent(1L, ArticleChangedEvent.Type.UPDATED,
+                NEWS, NEWS, true, false));
+        trending.tick();
+
+        assertEquals(List.of(3L), ids(trending.getTrending(null)));
+    }
+
+    private static void views(TrendingArticles trending, Long id, int count) {
+        for (int i = 0; i < count; i++) {
+            trending.recordView(id);
+        }
+    }
+
+    private static List<Long> ids(List<ArticleSummaryDto> summaries) {
+        return summaries.stream().map(ArticleSummaryDto::getId).toList();
+    }
+
+    private class FixedClockTrending extends TrendingArticles {
+        private long minute;
+
+        FixedClockTrending(int maxTracked) {
+            super(articleRepository, 60, 20, maxTracked, 10);
+        }
+
+        @Override
+        long currentMinute() {
+            return minute;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.handong.internationalmedia.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UploadSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void spoolCopiesThePartIntoTheDirectory() throws IOException {
+        byte[] content = new byte[256 * 1024];
+        new Random(42).nextBytes(content);
+        Path directory = tempDir.resolve("not-yet-created");
+        UploadSpool spool = new UploadSpool(directory.toString());
+
+        Path spooled = spool.spool(new MockMultipartFile("image", "photo.jpg", "image/jpeg", content));
+
+        assertEquals(directory, spooled.getParent());
+        assertArrayEquals(content, Files.readAllBytes(spooled));
+    }
+
+    @Test
+    public void everyUploadGetsItsOwnFile() {
+        UploadSpool spool = new UploadSpool(tempDir.toString());
+        MockMultipartFile part = new MockMultipartFile("image", "photo.jpg", "image/jpeg", new byte[]{1});
+
+        assertNotEquals(spool.spool(part), spool.spool(part));
+    }
+
+    @Test
+    public void deleteRemovesTheFileAndToleratesMissingOnes() {
+        UploadSpool spool = new UploadSpool(tempDir.toString());
+        Path spooled = spool.spool(new MockMultipartFile("image", new byte[]{1}));
+
+        spool.delete(spooled);
+        assertFalse(Files.exists(spooled));
+        spool.delete(spooled);
+    }
+
+    @Test
+    public void transferFailureIsUnchecked() {
+        UploadSpool spool = new UploadSpool(tempDir.toString());
+        MockMultipartFile broken = new MockMultipartFile("image", new byte[]{1}) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> spool.spool(broken));
+        assertTrue(error.getCause().getMessage().contains("client went away"));
+    }
+}
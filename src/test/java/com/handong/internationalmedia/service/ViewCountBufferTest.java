@@ -0,0 +1,109 @@
+package com.handong.internationalmedia.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewCountBufferTest {
+
+    private static final int THREADS = 4000;
+    private static final int VIEWS_PER_THREAD = 250;
+    private static final long ARTICLES = 7;
+
+    @Test
+    public void noIncrementsAreLostUnderContention() throws Exception {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbcTemplate);
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            long articleId = t % ARTICLES;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        buffer.record(articleId);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // Flush concurrently with the writers to exercise drain/record races
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                buffer.flush();
+            }
+        });
+        flusher.start();
+
+        start.countDown();
+        done.await();
+        running.set(false);
+        flusher.join();
+        buffer.flushOnShutdown();
+
+        long total = jdbcTemplate.totals.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals((long) THREADS * VIEWS_PER_THREAD, total);
+        for (long id = 0; id < ARTICLES; id++) {
+            long threadsForArticle = THREADS / ARTICLES + (id < THREADS % ARTICLES ? 1 : 0);
+            assertEquals(threadsForArticle * VIEWS_PER_THREAD, jdbcTemplate.totals.get(id));
+            assertEquals(0L, buffer.pendingFor(id));
+        }
+        assertTrue(jdbcTemplate.batches.get() > 0);
+    }
+
+    @Test
+    public void failedFlushKeepsDeltasForNextRun() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbcTemplate);
+
+        buffer.record(1L);
+        buffer.record(1L);
+        jdbcTemplate.failNext = true;
+        buffer.flush();
+        assertEquals(2L, buffer.pendingFor(1L));
+
+        buffer.record(1L);
+        buffer.flush();
+        assertEquals(3L, jdbcTemplate.totals.get(1L));
+        assertEquals(0L, buffer.pendingFor(1L));
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        final Map<Long, Long> totals = new ConcurrentHashMap<>();
+        final AtomicInteger batches = new AtomicInteger();
+        volatile boolean failNext;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("simulated outage");
+            }
+            batches.incrementAndGet();
+            for (Object[] args : batchArgs) {
+                totals.merge((Long) args[1], (Long) args[0], Long::sum);
+            }
+            return new int[batchArgs.size()];
+        }
+    }
+}